@@ -0,0 +1,124 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.example.muhammadworkstation.lamboclock.dial.DialCanvas;
+import com.example.muhammadworkstation.lamboclock.dial.DialPaint;
+import com.example.muhammadworkstation.lamboclock.dial.DialPath;
+
+/**
+ * {@link DialCanvas} that draws onto an {@link android.graphics.Canvas}, with the Android
+ * {@link Paint} for each {@link DialPaint} taken from a {@link PaintCache}.
+ */
+class AndroidDialCanvas implements DialCanvas {
+
+    private Canvas mCanvas;
+    private final RectF mOval = new RectF();
+    private final PaintCache mPaints;
+
+    AndroidDialCanvas() {
+        this(new PaintCache());
+    }
+
+    /**
+     * Creates a canvas that shares {@code paints} with the other canvases drawing the same
+     * {@link DialPaint}s.
+     */
+    AndroidDialCanvas(PaintCache paints) {
+        mPaints = paints;
+    }
+
+    /**
+     * Points this wrapper at the canvas to draw on, or at nothing.
+     */
+    void setCanvas(Canvas canvas) {
+        mCanvas = canvas;
+    }
+
+    Canvas getCanvas() {
+        return mCanvas;
+    }
+
+    PaintCache getPaintCache() {
+        return mPaints;
+    }
+
+    @Override
+    public DialPath newPath() {
+        return new AndroidDialPath();
+    }
+
+    @Override
+    public void drawColor(int color) {
+        mCanvas.drawColor(color);
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, DialPaint paint) {
+        mCanvas.drawCircle(cx, cy, radius, toPaint(paint));
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle, DialPaint paint) {
+        mOval.set(left, top, right, bottom);
+        mCanvas.drawArc(mOval, startAngle, sweepAngle, false, toPaint(paint));
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY,
+            DialPaint paint) {
+        mCanvas.drawLine(startX, startY, stopX, stopY, toPaint(paint));
+    }
+
+    @Override
+    public void drawLines(float[] points, int offset, int count, DialPaint paint) {
+        mCanvas.drawLines(points, offset, count, toPaint(paint));
+    }
+
+    @Override
+    public void drawPath(DialPath path, DialPaint paint) {
+        mCanvas.drawPath(((AndroidDialPath) path).mPath, toPaint(paint));
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, DialPaint paint) {
+        mCanvas.drawText(text, x, y, toPaint(paint));
+    }
+
+    @Override
+    public float measureText(String text, DialPaint paint) {
+        return toPaint(paint).measureText(text);
+    }
+
+    @Override
+    public float ascent(DialPaint paint) {
+        return toPaint(paint).ascent();
+    }
+
+    @Override
+    public float descent(DialPaint paint) {
+        return toPaint(paint).descent();
+    }
+
+    @Override
+    public void save() {
+        mCanvas.save();
+    }
+
+    @Override
+    public void restore() {
+        mCanvas.restore();
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        mCanvas.translate(dx, dy);
+    }
+
+    private Paint toPaint(DialPaint dialPaint) {
+        return mPaints.get(dialPaint);
+    }
+}
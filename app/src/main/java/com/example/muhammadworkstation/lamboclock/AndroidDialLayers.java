@@ -0,0 +1,50 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import com.example.muhammadworkstation.lamboclock.dial.DialCanvas;
+import com.example.muhammadworkstation.lamboclock.dial.DialLayers;
+
+/**
+ * {@link DialLayers} backed by ARGB bitmaps, for {@link AndroidDialCanvas} targets. Every
+ * layer draws with the same {@link PaintCache}, so a paint is built once per render rather
+ * than once per layer.
+ */
+class AndroidDialLayers implements DialLayers {
+
+    private final PaintCache mPaints;
+
+    AndroidDialLayers(PaintCache paints) {
+        mPaints = paints;
+    }
+
+    @Override
+    public DialCanvas createLayer(int width, int height) {
+        return new Layer(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888), mPaints);
+    }
+
+    @Override
+    public void composite(DialCanvas target, DialCanvas layer) {
+        Canvas canvas = ((AndroidDialCanvas) target).getCanvas();
+        canvas.save();
+        canvas.setMatrix(null);
+        canvas.drawBitmap(((Layer) layer).mBitmap, 0, 0, null);
+        canvas.restore();
+    }
+
+    @Override
+    public void releaseLayer(DialCanvas layer) {
+        ((Layer) layer).mBitmap.recycle();
+    }
+
+    private static class Layer extends AndroidDialCanvas {
+        final Bitmap mBitmap;
+
+        Layer(Bitmap bitmap, PaintCache paints) {
+            super(paints);
+            mBitmap = bitmap;
+            setCanvas(new Canvas(bitmap));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.example.muhammadworkstation.lamboclock.dial.DialPath;
+
+/**
+ * {@link DialPath} backed by an {@link android.graphics.Path}.
+ */
+class AndroidDialPath implements DialPath {
+
+    final Path mPath = new Path();
+    private final RectF mOval = new RectF();
+    private final Matrix mMatrix = new Matrix();
+
+    @Override
+    public void rewind() {
+        mPath.rewind();
+    }
+
+    @Override
+    public void moveTo(float x, float y) {
+        mPath.moveTo(x, y);
+    }
+
+    @Override
+    public void lineTo(float x, float y) {
+        mPath.lineTo(x, y);
+    }
+
+    @Override
+    public void arcTo(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle) {
+        mOval.set(left, top, right, bottom);
+        mPath.arcTo(mOval, startAngle, sweepAngle);
+    }
+
+    @Override
+    public void addArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle) {
+        mOval.set(left, top, right, bottom);
+        mPath.addArc(mOval, startAngle, sweepAngle);
+    }
+
+    @Override
+    public void addCircle(float cx, float cy, float radius, boolean ccw) {
+        mPath.addCircle(cx, cy, radius, ccw ? Path.Direction.CCW : Path.Direction.CW);
+    }
+
+    @Override
+    public void close() {
+        mPath.close();
+    }
+
+    @Override
+    public void rotate(float degrees) {
+        mMatrix.setRotate(degrees);
+        mPath.transform(mMatrix);
+    }
+}
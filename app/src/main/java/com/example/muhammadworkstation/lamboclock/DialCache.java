@@ -0,0 +1,92 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+/**
+ * Byte-budgeted LRU cache of pre-rendered dial bitmaps. Each variant of the dial (size, theme,
+ * ambient and low-bit) is rendered once and then only blitted, so switching between
+ * modes does not repeat the mask filter passes.
+ */
+class DialCache extends LruCache<DialCache.Key, Bitmap> {
+
+    /**
+     * Default budget, large enough to hold the interactive and ambient dials of both themes on a
+     * 480px screen.
+     */
+    static final int DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+    DialCache(int maxBytes) {
+        super(maxBytes);
+    }
+
+    @Override
+    protected int sizeOf(Key key, Bitmap bitmap) {
+        return bitmap.getByteCount();
+    }
+
+    /**
+     * Identifies one rendered variant of the dial.
+     */
+    static final class Key {
+        final int width;
+        final int height;
+        final int theme;
+        final boolean ambient;
+        final boolean lowBit;
+
+        Key(int width, int height, int theme, boolean ambient, boolean lowBit) {
+            this.width = width;
+            this.height = height;
+            this.theme = theme;
+            this.ambient = ambient;
+            this.lowBit = lowBit;
+        }
+
+        /**
+         * Returns whether this key describes the given variant, so callers can keep their
+         * current key without allocating a new one every frame.
+         */
+        boolean matches(int width, int height, int theme, boolean ambient, boolean lowBit) {
+            return this.width == width && this.height == height && this.theme == theme
+                    && this.ambient == ambient && this.lowBit == lowBit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return matches(other.width, other.height, other.theme, other.ambient, other.lowBit);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = width;
+            result = 31 * result + height;
+            result = 31 * result + theme;
+            result = 31 * result + (ambient ? 1 : 0);
+            result = 31 * result + (lowBit ? 1 : 0);
+            return result;
+        }
+
+        /**
+         * Returns the name {@link DialDiskCache} stores this variant under. It is made of every
+         * field, so two keys share a file exactly when they are equal.
+         */
+        String getFileName() {
+            return "dial_" + width + "x" + height + "_" + theme + (ambient ? "_ambient" : "")
+                    + (lowBit ? "_lowbit" : "") + ".bin";
+        }
+
+        @Override
+        public String toString() {
+            return width + "x" + height + " theme=" + theme + " ambient=" + ambient
+                    + " lowBit=" + lowBit;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps rendered dial variants in the app's cache directory, so a restarted process can map
+ * them back in instead of running the mask filter passes again.
+ *
+ * <p>Each variant is one file: a header followed by the raw pixels of the bitmap. The header
+ * holds a magic number, the format version, a hash of the installed app version, the bitmap's
+ * size and config, and a CRC32 of the pixels. Files live in a directory named after the app
+ * version hash, and directories of other versions are deleted on startup. A file that fails
+ * any check is deleted and the variant is rendered again.
+ *
+ * <p>All methods do disk I/O and belong on a background thread.
+ */
+class DialDiskCache {
+
+    private static final String TAG = "DialDiskCache";
+
+    private static final int MAGIC = 0x4c444941; // "LDIA"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int OFFSET_VERSION_HASH = 8;
+    private static final int OFFSET_CRC = 32;
+    private static final int HEADER_SIZE = 40;
+
+    private static final Bitmap.Config[] CONFIGS = {
+            Bitmap.Config.ARGB_8888, Bitmap.Config.ALPHA_8, Bitmap.Config.RGB_565
+    };
+
+    private final File mDir;
+    private final long mVersionHash;
+    private final byte[] mCrcChunk = new byte[16 * 1024];
+
+    DialDiskCache(Context context) {
+        mVersionHash = versionHash(context);
+        File root = new File(context.getCacheDir(), "dials");
+        mDir = new File(root, Long.toHexString(mVersionHash));
+        File[] versions = root.listFiles();
+        if (versions != null) {
+            for (File version : versions) {
+                if (!version.equals(mDir)) {
+                    deleteRecursively(version);
+                }
+            }
+        }
+        if (!mDir.isDirectory() && !mDir.mkdirs()) {
+            Log.w(TAG, "Cannot create " + mDir);
+        }
+    }
+
+    /**
+     * Returns the cached dial for {@code key}, or null if there is no valid one.
+     */
+    Bitmap load(DialCache.Key key) {
+        File file = fileFor(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        Bitmap bitmap = null;
+        try {
+            RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = in.getChannel();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        channel.size());
+                bitmap = readBitmap(key, buffer);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot read " + file, e);
+        }
+        if (bitmap == null) {
+            deleteQuietly(file);
+        }
+        return bitmap;
+    }
+
+    private Bitmap readBitmap(DialCache.Key key, ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != FORMAT_VERSION
+                || buffer.getLong(OFFSET_VERSION_HASH) != mVersionHash
+                || buffer.getInt(16) != key.width
+                || buffer.getInt(20) != key.height) {
+            return null;
+        }
+        int configIndex = buffer.getInt(24);
+        int byteCount = buffer.getInt(28);
+        if (configIndex < 0 || configIndex >= CONFIGS.length
+                || byteCount != buffer.capacity() - HEADER_SIZE) {
+            return null;
+        }
+
+        buffer.position(HEADER_SIZE);
+        ByteBuffer pixels = buffer.slice();
+        if (crc(pixels) != buffer.getLong(OFFSET_CRC)) {
+            return null;
+        }
+
+        Bitmap bitmap = Bitmap.createBitmap(key.width, key.height, CONFIGS[configIndex]);
+        if (bitmap.getByteCount() != byteCount) {
+            bitmap.recycle();
+            return null;
+        }
+        pixels.rewind();
+        bitmap.copyPixelsFromBuffer(pixels);
+        return bitmap;
+    }
+
+    /**
+     * Stores {@code bitmap} as the dial for {@code key}. Failures are only logged, as the
+     * dial can always be rendered again.
+     */
+    void save(DialCache.Key key, Bitmap bitmap) {
+        int configIndex = indexOf(bitmap.getConfig());
+        if (configIndex < 0 || !mDir.isDirectory()) {
+            return;
+        }
+        File file = fileFor(key);
+        // Written next to the real file and renamed, so a process killed halfway never leaves
+        // a truncated file under the real name.
+        File temp = new File(mDir, file.getName() + ".tmp");
+        int byteCount = bitmap.getByteCount();
+        try {
+            RandomAccessFile out = new RandomAccessFile(temp, "rw");
+            try {
+                out.setLength(HEADER_SIZE + byteCount);
+                MappedByteBuffer buffer = out.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_SIZE + byteCount);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putLong(OFFSET_VERSION_HASH, mVersionHash);
+                buffer.putInt(16, key.width);
+                buffer.putInt(20, key.height);
+                buffer.putInt(24, configIndex);
+                buffer.putInt(28, byteCount);
+
+                buffer.position(HEADER_SIZE);
+                ByteBuffer pixels = buffer.slice();
+                bitmap.copyPixelsToBuffer(pixels);
+                pixels.rewind();
+                buffer.putLong(OFFSET_CRC, crc(pixels));
+                buffer.force();
+            } finally {
+                out.close();
+            }
+            if (!temp.renameTo(file)) {
+                throw new IOException("Cannot rename " + temp + " to " + file);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot write " + file, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    private File fileFor(DialCache.Key key) {
+        return new File(mDir, key.getFileName());
+    }
+
+    private long crc(ByteBuffer pixels) {
+        CRC32 crc = new CRC32();
+        while (pixels.hasRemaining()) {
+            int length = Math.min(mCrcChunk.length, pixels.remaining());
+            pixels.get(mCrcChunk, 0, length);
+            crc.update(mCrcChunk, 0, length);
+        }
+        return crc.getValue();
+    }
+
+    private static int indexOf(Bitmap.Config config) {
+        for (int i = 0; i < CONFIGS.length; i++) {
+            if (CONFIGS[i] == config) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Hashes the installed version of the app, so files written by another build are never
+     * read. The update time changes on every install, even when the version code does not.
+     */
+    private static long versionHash(Context context) {
+        long hash = FORMAT_VERSION;
+        try {
+            PackageInfo info = context.getPackageManager().getPackageInfo(
+                    context.getPackageName(), 0);
+            hash = hash * 31 + info.versionCode;
+            hash = hash * 31 + (info.versionName != null ? info.versionName.hashCode() : 0);
+            hash = hash * 31 + info.lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            // Our own package is always installed.
+        }
+        return hash;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        deleteQuietly(file);
+    }
+
+    private static void deleteQuietly(File file) {
+        if (!file.delete() && file.exists()) {
+            Log.w(TAG, "Cannot delete " + file);
+        }
+    }
+}
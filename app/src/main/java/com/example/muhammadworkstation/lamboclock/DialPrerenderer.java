@@ -0,0 +1,178 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+
+import com.example.muhammadworkstation.lamboclock.dial.DialRenderer;
+import com.example.muhammadworkstation.lamboclock.dial.DialTheme;
+import com.example.muhammadworkstation.lamboclock.dial.ParallelDialRenderer;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Renders dial variants on a background thread, so the mask filter passes never run inside
+ * {@code onDraw}. Requests and results go through the main thread: {@link #request} is called
+ * from it, and the finished bitmap is handed back to it through the callback, so the engine
+ * can swap it in between two frames.
+ *
+ * <p>Rendered dials are also written to a {@link DialDiskCache}, and read back from it
+ * before anything is rendered, so a restarted process does not render them again.
+ *
+ * <p>The worker has its own {@link DialRenderer}, as the renderer's paints are not safe to
+ * share across threads. It switches the renderer to the theme of each key, which reuses the
+ * paints it built for that theme before.
+ */
+class DialPrerenderer {
+
+    interface Callback {
+        /**
+         * Called on the main thread when {@code dial} has been rendered for {@code key}.
+         */
+        void onDialRendered(DialCache.Key key, Bitmap dial);
+    }
+
+    private final Context mContext;
+    private final List<DialTheme> mThemes;
+    private final Handler mMainHandler;
+    private final Callback mCallback;
+    private final HashSet<DialCache.Key> mPending = new HashSet<>();
+
+    private final DialRenderer mRenderer = new DialRenderer();
+    private final AndroidDialCanvas mCanvas = new AndroidDialCanvas();
+
+    /**
+     * Draws the layers of the interactive dial on a thread pool, when enabled.
+     */
+    private ParallelDialRenderer mParallelRenderer;
+
+    /**
+     * Created on the worker, as setting it up touches the disk.
+     */
+    private DialDiskCache mDiskCache;
+
+    private HandlerThread mThread;
+    private Handler mWorkerHandler;
+
+    /**
+     * {@code themes} are indexed by the {@link DialCache.Key#theme} of the requested keys.
+     */
+    DialPrerenderer(Context context, List<DialTheme> themes, Handler mainHandler,
+            Callback callback) {
+        mContext = context;
+        mThemes = themes;
+        mMainHandler = mainHandler;
+        mCallback = callback;
+    }
+
+    /**
+     * Starts the worker. With {@code parallel}, the layers of the interactive dial are also
+     * spread over the available cores.
+     */
+    void start(boolean parallel) {
+        if (parallel) {
+            mParallelRenderer = new ParallelDialRenderer(mRenderer,
+                    new AndroidDialLayers(mCanvas.getPaintCache()));
+        }
+        mThread = new HandlerThread("DialPrerenderer", Process.THREAD_PRIORITY_DISPLAY);
+        mThread.start();
+        mWorkerHandler = new Handler(mThread.getLooper());
+        mWorkerHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mDiskCache = new DialDiskCache(mContext);
+            }
+        });
+    }
+
+    /**
+     * Stops the worker. Queued renders are dropped, and the result of a render already running
+     * is ignored.
+     */
+    void quit() {
+        mWorkerHandler.removeCallbacksAndMessages(null);
+        // The pool is shut down on the worker, after any render still using it.
+        mWorkerHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (mParallelRenderer != null) {
+                    mParallelRenderer.shutdown();
+                }
+            }
+        });
+        mThread.quitSafely();
+        mThread = null;
+        mWorkerHandler = null;
+        mPending.clear();
+    }
+
+    boolean isPending(DialCache.Key key) {
+        return mPending.contains(key);
+    }
+
+    /**
+     * Queues a render of {@code key}, unless one is already queued.
+     */
+    void request(final DialCache.Key key) {
+        if (mWorkerHandler == null || !mPending.add(key)) {
+            return;
+        }
+        mWorkerHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap dial = loadOrRender(key);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mPending.remove(key)) {
+                            mCallback.onDialRendered(key, dial);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Loads the static part of the face for {@code key} from disk, or renders and stores it.
+     * Runs on the worker thread.
+     */
+    private Bitmap loadOrRender(DialCache.Key key) {
+        Bitmap dial = mDiskCache.load(key);
+        if (dial == null) {
+            dial = render(key);
+            mDiskCache.save(key, dial);
+        }
+        return dial;
+    }
+
+    private Bitmap render(DialCache.Key key) {
+        DialTheme theme = mThemes.get(key.theme);
+        mRenderer.setTheme(theme);
+        Bitmap dial;
+        if (key.ambient) {
+            // The ambient dial only has gray levels, so it is kept as an alpha-only bitmap
+            // and tinted white when drawn.
+            dial = Bitmap.createBitmap(key.width, key.height, Bitmap.Config.ALPHA_8);
+            mCanvas.setCanvas(new Canvas(dial));
+            mRenderer.renderAmbientDial(mCanvas, key.width, key.height, key.lowBit);
+        } else {
+            // The interactive dial is opaque, so it does not need an alpha channel.
+            dial = Bitmap.createBitmap(key.width, key.height, Bitmap.Config.RGB_565);
+            mCanvas.setCanvas(new Canvas(dial));
+            if (mParallelRenderer != null) {
+                mParallelRenderer.renderDial(mCanvas, key.width, key.height,
+                        theme.getBackgroundColor());
+            } else {
+                mRenderer.renderDial(mCanvas, key.width, key.height,
+                        theme.getBackgroundColor());
+            }
+        }
+        mCanvas.setCanvas(null);
+        return dial;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.muhammadworkstation.lamboclock;
+
+/**
+ * Picks the frame rate of the sweeping second hand. It starts at the requested rate and steps
+ * down to the next supported rate when frames keep taking most of their budget, then steps
+ * back up once frames are comfortably fast again.
+ */
+class FrameGovernor {
+
+    /**
+     * Supported sweep rates, fastest first.
+     */
+    static final int[] FRAME_RATES = {60, 30, 15};
+
+    /**
+     * A frame is over budget when drawing it takes more than this share of the frame interval.
+     */
+    private static final float OVER_BUDGET = 0.8f;
+
+    /**
+     * A frame could run at the next faster rate when it takes less than this share of that
+     * rate's interval.
+     */
+    private static final float UNDER_BUDGET = 0.5f;
+
+    /**
+     * Consecutive over budget frames before the rate is lowered.
+     */
+    private static final int FRAMES_TO_STEP_DOWN = 5;
+
+    /**
+     * Consecutive fast frames before the rate is raised again.
+     */
+    private static final int FRAMES_TO_STEP_UP = 120;
+
+    private int mRequestedIndex;
+    private int mRateIndex;
+    private int mOverBudgetFrames;
+    private int mUnderBudgetFrames;
+
+    FrameGovernor(int requestedFps) {
+        setRequestedFrameRate(requestedFps);
+    }
+
+    /**
+     * Sets the fastest rate the governor may use, rounded down to a supported rate.
+     */
+    void setRequestedFrameRate(int fps) {
+        int index = FRAME_RATES.length - 1;
+        for (int i = 0; i < FRAME_RATES.length; i++) {
+            if (FRAME_RATES[i] <= fps) {
+                index = i;
+                break;
+            }
+        }
+        mRequestedIndex = index;
+        mRateIndex = index;
+        mOverBudgetFrames = 0;
+        mUnderBudgetFrames = 0;
+    }
+
+    int getFrameRate() {
+        return FRAME_RATES[mRateIndex];
+    }
+
+    long getFrameIntervalMs() {
+        return 1000 / FRAME_RATES[mRateIndex];
+    }
+
+    /**
+     * Records how long the last frame took to draw and adjusts the rate if needed.
+     */
+    void onFrameDrawn(long drawNanos) {
+        long intervalNanos = 1000000000L / FRAME_RATES[mRateIndex];
+        if (drawNanos > intervalNanos * OVER_BUDGET) {
+            mUnderBudgetFrames = 0;
+            if (++mOverBudgetFrames >= FRAMES_TO_STEP_DOWN
+                    && mRateIndex < FRAME_RATES.length - 1) {
+                mRateIndex++;
+                mOverBudgetFrames = 0;
+            }
+            return;
+        }
+        mOverBudgetFrames = 0;
+        if (mRateIndex == mRequestedIndex) {
+            return;
+        }
+        long fasterIntervalNanos = 1000000000L / FRAME_RATES[mRateIndex - 1];
+        if (drawNanos < fasterIntervalNanos * UNDER_BUDGET) {
+            if (++mUnderBudgetFrames >= FRAMES_TO_STEP_UP) {
+                mRateIndex--;
+                mUnderBudgetFrames = 0;
+            }
+        } else {
+            mUnderBudgetFrames = 0;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.os.Handler;
+import android.view.Choreographer;
+
+import java.io.PrintWriter;
+
+/**
+ * The one place that asks the engine for frames. Every source of change marks the layers it
+ * made dirty; requests made before the next vsync share one frame, which the engine draws
+ * from inside the Choreographer callback, so a burst of events causes a single frame that
+ * shows on that vsync rather than the one after. While something animates, frames are paced
+ * at the animation's rate; otherwise a single timer asks for the next tick, and nothing runs
+ * at all once both are stopped.
+ *
+ * <p>Only used from the main thread.
+ */
+class FrameScheduler implements Choreographer.FrameCallback {
+
+    /**
+     * The dial and the hour and minute hands.
+     */
+    static final int LAYER_MINUTE = 1;
+
+    /**
+     * The second hand.
+     */
+    static final int LAYER_SECOND = 1 << 1;
+
+    /**
+     * The speed needle and its readouts.
+     */
+    static final int LAYER_LIVE = 1 << 2;
+
+    static final int LAYER_ALL = LAYER_MINUTE | LAYER_SECOND | LAYER_LIVE;
+
+    /**
+     * Watch displays refresh at 60 Hz.
+     */
+    private static final long VSYNC_NANOS = 16666667;
+
+    interface Callback {
+        /**
+         * Called from the vsync callback when a frame was asked for. The engine draws it right
+         * away, or hands it on to a frame that calls {@link #takeDirtyLayers} later, or gives
+         * it up with {@link #resetFrameRequest}.
+         */
+        void onFrame();
+    }
+
+    private final Choreographer mChoreographer;
+    private final Callback mCallback;
+
+    private int mDirtyLayers;
+    private boolean mFrameRequested;
+    private long mFrameTimeMs;
+
+    private int mAnimatedLayers;
+    private long mAnimationIntervalNanos;
+    private long mLastAnimationFrameNanos;
+    private boolean mVsyncPosted;
+    private boolean mInVsync;
+
+    private final TickTimer mTickTimer;
+    private int mTickLayers;
+
+    private long mRequests;
+    private long mFrames;
+    private long mCoalesced;
+    private long mSkippedVsyncs;
+
+    FrameScheduler(Choreographer choreographer, Handler handler, Callback callback) {
+        mChoreographer = choreographer;
+        mCallback = callback;
+        mTickTimer = new TickTimer(handler, new TickTimer.Callback() {
+            @Override
+            public void onTick() {
+                invalidate(mTickLayers);
+            }
+        });
+    }
+
+    /**
+     * Marks {@code layers} dirty and asks for a frame on the next vsync unless one is already
+     * on its way.
+     */
+    void invalidate(int layers) {
+        mRequests++;
+        mDirtyLayers |= layers;
+        if (!mFrameRequested) {
+            mFrameRequested = true;
+            if (!mInVsync) {
+                postVsync();
+            }
+        } else {
+            mCoalesced++;
+        }
+    }
+
+    private void postVsync() {
+        if (!mVsyncPosted) {
+            mVsyncPosted = true;
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Returns the layers marked dirty since the last frame and clears them. Called once by
+     * every frame, whoever asked for it; frames the system draws on its own get 0.
+     */
+    int takeDirtyLayers() {
+        int layers = mDirtyLayers;
+        mDirtyLayers = 0;
+        mFrameRequested = false;
+        mFrames++;
+        mFrameTimeMs = mTickTimer.onFrame(System.currentTimeMillis());
+        return layers;
+    }
+
+    /**
+     * Returns the wall-clock time the frame that last took the dirty layers shows. A tick
+     * fires a little ahead of its second, and its frame shows that second.
+     */
+    long getFrameTimeMs() {
+        return mFrameTimeMs;
+    }
+
+    /**
+     * Redraws {@code layers} every {@code intervalMs}, on the first vsync at or after each
+     * interval, until {@link #stopAnimation}. Calling it again only updates the layers and
+     * the interval.
+     */
+    void animate(int layers, long intervalMs) {
+        if (mAnimatedLayers == 0) {
+            mLastAnimationFrameNanos = 0;
+        }
+        mAnimatedLayers = layers;
+        mAnimationIntervalNanos = intervalMs * 1000000L;
+        postVsync();
+    }
+
+    void stopAnimation() {
+        mAnimatedLayers = 0;
+        // A frame already asked for still needs its vsync.
+        if (mVsyncPosted && !mFrameRequested) {
+            mVsyncPosted = false;
+            mChoreographer.removeFrameCallback(this);
+        }
+    }
+
+    boolean isAnimating() {
+        return mAnimatedLayers != 0;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mVsyncPosted = false;
+        if (mAnimatedLayers != 0) {
+            // Half a vsync of slack, so an interval that is a whole number of vsyncs never
+            // slips to the one after.
+            if (mLastAnimationFrameNanos == 0 || frameTimeNanos - mLastAnimationFrameNanos
+                    >= mAnimationIntervalNanos - VSYNC_NANOS / 2) {
+                mLastAnimationFrameNanos = frameTimeNanos;
+                mInVsync = true;
+                invalidate(mAnimatedLayers);
+                mInVsync = false;
+            } else {
+                mSkippedVsyncs++;
+            }
+        }
+        if (mFrameRequested) {
+            mCallback.onFrame();
+        }
+        if (mAnimatedLayers != 0) {
+            postVsync();
+        }
+    }
+
+    /**
+     * Redraws {@code layers} once, on the next wall-clock boundary of {@code periodMs}. Calling
+     * it again before then keeps the tick already scheduled.
+     */
+    void scheduleTick(int layers, long periodMs) {
+        mTickLayers = layers;
+        mTickTimer.schedule(periodMs);
+    }
+
+    void cancelTick() {
+        mTickTimer.cancel();
+    }
+
+    /**
+     * Forgets the frame asked for and not drawn yet, so the next {@link #invalidate} asks
+     * again. The engine does not draw every frame it is asked for, e.g. while hidden or when
+     * the surface cannot be locked, and without this one lost frame would swallow every later
+     * request. The dirty layers are kept for whichever frame comes next.
+     */
+    void resetFrameRequest() {
+        mFrameRequested = false;
+    }
+
+    /**
+     * Stops the animation and the tick. A frame already asked for is still handed to the
+     * engine on the next vsync.
+     */
+    void stop() {
+        stopAnimation();
+        cancelTick();
+    }
+
+    @Override
+    public String toString() {
+        return "requests=" + mRequests + " frames=" + mFrames + " coalesced="
+                + mCoalesced + " skippedVsyncs=" + mSkippedVsyncs
+                + " animating=" + isAnimating() + " dirty=0x"
+                + Integer.toHexString(mDirtyLayers);
+    }
+
+    void dump(String prefix, PrintWriter out) {
+        out.print(prefix);
+        out.print("frames ");
+        out.println(this);
+        mTickTimer.dump(prefix + "  ", out);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+/**
+ * The two full screen bitmaps behind each frame: the minute layer, with the dial and the slow
+ * hands, and the composed frame. Both are opaque, as the dial covers the whole face, so they
+ * are kept as RGB_565 at half the memory of ARGB_8888. They can be released at any time and
+ * are created again on the next frame.
+ */
+class FrameSurfaces {
+
+    static final Bitmap.Config CONFIG = Bitmap.Config.RGB_565;
+
+    private Bitmap mMinuteLayer;
+    private Canvas mMinuteCanvas;
+    private Bitmap mFrame;
+    private Canvas mFrameCanvas;
+
+    /**
+     * Makes sure both bitmaps exist at the given size. Returns true if they were created, in
+     * which case their content is undefined and the whole frame has to be redrawn.
+     */
+    boolean ensure(int width, int height) {
+        if (mFrame != null && mFrame.getWidth() == width && mFrame.getHeight() == height) {
+            return false;
+        }
+        release();
+        mMinuteLayer = Bitmap.createBitmap(width, height, CONFIG);
+        mMinuteCanvas = new Canvas(mMinuteLayer);
+        mFrame = Bitmap.createBitmap(width, height, CONFIG);
+        mFrameCanvas = new Canvas(mFrame);
+        return true;
+    }
+
+    Bitmap getMinuteLayer() {
+        return mMinuteLayer;
+    }
+
+    Canvas getMinuteCanvas() {
+        return mMinuteCanvas;
+    }
+
+    Bitmap getFrame() {
+        return mFrame;
+    }
+
+    Canvas getFrameCanvas() {
+        return mFrameCanvas;
+    }
+
+    void release() {
+        if (mFrame != null) {
+            mMinuteLayer.recycle();
+            mFrame.recycle();
+        }
+        mMinuteLayer = null;
+        mMinuteCanvas = null;
+        mFrame = null;
+        mFrameCanvas = null;
+    }
+
+    int getByteCount() {
+        return mFrame == null ? 0 : mMinuteLayer.getByteCount() + mFrame.getByteCount();
+    }
+}
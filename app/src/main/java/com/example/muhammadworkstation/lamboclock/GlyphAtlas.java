@@ -0,0 +1,173 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.Arrays;
+
+/**
+ * A set of single characters and whole words rendered once at one text size into an
+ * alpha-only bitmap, with their advances measured at the same time. Readouts that change every
+ * frame are then drawn as bitmap copies, tinted by the paint's color, with no text layout, no
+ * measuring and no {@code String} per frame.
+ *
+ * <p>Characters are laid out one after the other at their measured advances, so kerning is
+ * lost; that suits digits, which have the same advance in most fonts.
+ */
+class GlyphAtlas {
+
+    /**
+     * Characters are looked up through a table indexed by their code, so only ASCII fits.
+     */
+    private static final int MAX_CHAR = 128;
+
+    private final float mTextSize;
+    private final Bitmap mBitmap;
+
+    /**
+     * Atlas entry of each character, or -1 if it is not in the atlas.
+     */
+    private final int[] mEntryOfChar = new int[MAX_CHAR];
+
+    /**
+     * Left, top, right and bottom of each entry in {@link #mBitmap}: the characters first, in
+     * order, then the words.
+     */
+    private final int[] mCells;
+    private final float[] mAdvances;
+    private final int mWordStart;
+
+    /**
+     * Distance from the top of every cell to the baseline.
+     */
+    private final int mBaseline;
+
+    private final Rect mSrc = new Rect();
+    private final RectF mDst = new RectF();
+
+    /**
+     * Renders {@code chars} and {@code words} with the typeface and size of {@code paint}.
+     */
+    GlyphAtlas(Paint paint, String chars, String... words) {
+        Paint glyphPaint = new Paint(paint);
+        glyphPaint.setColor(0xff000000);
+        glyphPaint.setTextAlign(Paint.Align.LEFT);
+        mTextSize = paint.getTextSize();
+
+        int count = chars.length() + words.length;
+        mCells = new int[count * 4];
+        mAdvances = new float[count];
+        mWordStart = chars.length();
+        Arrays.fill(mEntryOfChar, -1);
+
+        float[] widths = new float[Math.max(1, chars.length())];
+        glyphPaint.getTextWidths(chars, widths);
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c >= MAX_CHAR) {
+                throw new IllegalArgumentException("Not an ASCII character: " + c);
+            }
+            mEntryOfChar[c] = i;
+            mAdvances[i] = widths[i];
+        }
+        for (int i = 0; i < words.length; i++) {
+            mAdvances[mWordStart + i] = glyphPaint.measureText(words[i]);
+        }
+
+        // One row, with a pixel between cells so filtering never picks up a neighbor.
+        mBaseline = (int) Math.ceil(-glyphPaint.ascent());
+        int height = Math.max(1, mBaseline + (int) Math.ceil(glyphPaint.descent()));
+        int x = 0;
+        for (int i = 0; i < count; i++) {
+            int width = (int) Math.ceil(mAdvances[i]);
+            mCells[i * 4] = x;
+            mCells[i * 4 + 1] = 0;
+            mCells[i * 4 + 2] = x + width;
+            mCells[i * 4 + 3] = height;
+            x += width + 1;
+        }
+
+        mBitmap = Bitmap.createBitmap(Math.max(1, x), height, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(mBitmap);
+        for (int i = 0; i < chars.length(); i++) {
+            canvas.drawText(chars, i, i + 1, mCells[i * 4], mBaseline, glyphPaint);
+        }
+        for (int i = 0; i < words.length; i++) {
+            canvas.drawText(words[i], mCells[(mWordStart + i) * 4], mBaseline, glyphPaint);
+        }
+    }
+
+    /**
+     * Returns whether this atlas was rendered at {@code textSize}.
+     */
+    boolean matches(float textSize) {
+        return mTextSize == textSize;
+    }
+
+    /**
+     * Returns the width of {@code count} chars of {@code text} from {@code start}. Characters
+     * that are not in the atlas take no space.
+     */
+    float measure(char[] text, int start, int count) {
+        float width = 0;
+        for (int i = start; i < start + count; i++) {
+            int entry = entryOf(text[i]);
+            if (entry >= 0) {
+                width += mAdvances[entry];
+            }
+        }
+        return width;
+    }
+
+    float getWordWidth(int word) {
+        return mAdvances[mWordStart + word];
+    }
+
+    /**
+     * Draws {@code count} chars of {@code text} from {@code start} with their baseline starting
+     * at {@code x}, {@code y}, in the color of {@code paint}. Returns the x after the last one.
+     */
+    float draw(Canvas canvas, char[] text, int start, int count, float x, float y,
+            Paint paint) {
+        for (int i = start; i < start + count; i++) {
+            int entry = entryOf(text[i]);
+            if (entry >= 0) {
+                drawEntry(canvas, entry, x, y, paint);
+                x += mAdvances[entry];
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Draws the word at index {@code word} of the constructor's list, like {@link #draw}.
+     */
+    float drawWord(Canvas canvas, int word, float x, float y, Paint paint) {
+        int entry = mWordStart + word;
+        drawEntry(canvas, entry, x, y, paint);
+        return x + mAdvances[entry];
+    }
+
+    private void drawEntry(Canvas canvas, int entry, float x, float y, Paint paint) {
+        int at = entry * 4;
+        mSrc.set(mCells[at], mCells[at + 1], mCells[at + 2], mCells[at + 3]);
+        float top = y - mBaseline;
+        mDst.set(x, top, x + mSrc.width(), top + mSrc.height());
+        canvas.drawBitmap(mBitmap, mSrc, mDst, paint);
+    }
+
+    private int entryOf(char c) {
+        return c < MAX_CHAR ? mEntryOfChar[c] : -1;
+    }
+
+    int getByteCount() {
+        return mBitmap.getByteCount();
+    }
+
+    void recycle() {
+        mBitmap.recycle();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.location.Location;
+import android.location.LocationListener;
+import android.location.LocationManager;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.Process;
+
+/**
+ * Feeds a {@link SpeedGauge} from the watch's GPS: the speed of each fix, and the distance
+ * between fixes added up. Each time it is started, the gauge shows why it is waiting until the
+ * first fix arrives.
+ *
+ * <p>Only used from the main thread.
+ */
+class LocationSpeedSource implements LocationListener {
+
+    /**
+     * How often fixes are asked for. The needle animates between them.
+     */
+    private static final long INTERVAL_MS = 1000;
+
+    private static final float KMH_PER_METER_PER_SECOND = 3.6f;
+
+    private final Context mContext;
+    private final LocationManager mLocationManager;
+    private final SpeedGauge mGauge;
+
+    private boolean mStarted;
+    private Location mLastLocation;
+    private double mDistanceKm;
+
+    LocationSpeedSource(Context context, SpeedGauge gauge) {
+        mContext = context;
+        mLocationManager = (LocationManager) context.getSystemService(Context.LOCATION_SERVICE);
+        mGauge = gauge;
+    }
+
+    /**
+     * Shows the gauge and starts listening for fixes.
+     */
+    void start() {
+        if (mStarted) {
+            return;
+        }
+        mStarted = true;
+        mGauge.start();
+        if (mLocationManager == null
+                || mLocationManager.getProvider(LocationManager.GPS_PROVIDER) == null) {
+            mGauge.setStatus(SpeedGauge.CHECK_LOCATION,
+                    mContext.getString(R.string.gauge_no_gps));
+            return;
+        }
+        // The face cannot ask for the permission itself; it is granted from the settings.
+        if (mContext.checkPermission(Manifest.permission.ACCESS_FINE_LOCATION, Process.myPid(),
+                Process.myUid()) != PackageManager.PERMISSION_GRANTED) {
+            mGauge.setStatus(SpeedGauge.CHECK_LOCATION,
+                    mContext.getString(R.string.gauge_no_permission));
+            return;
+        }
+        updateProviderStatus(mLocationManager.isProviderEnabled(LocationManager.GPS_PROVIDER));
+        mLocationManager.requestLocationUpdates(LocationManager.GPS_PROVIDER, INTERVAL_MS, 0,
+                this, Looper.getMainLooper());
+    }
+
+    /**
+     * Stops listening and hides the gauge.
+     */
+    void stop() {
+        if (!mStarted) {
+            return;
+        }
+        mStarted = false;
+        if (mLocationManager != null) {
+            try {
+                mLocationManager.removeUpdates(this);
+            } catch (SecurityException e) {
+                // Never registered, so there is nothing to remove.
+            }
+        }
+        mGauge.stop();
+    }
+
+    @Override
+    public void onLocationChanged(Location location) {
+        mGauge.setStatus(SpeedGauge.CONNECTED, null);
+        if (mLastLocation != null) {
+            mDistanceKm += mLastLocation.distanceTo(location) / 1000.0;
+            mGauge.setDistance(mDistanceKm);
+        }
+        // Fixes missed while stopped count as a straight line from the last one.
+        mLastLocation = location;
+        mGauge.setSpeed(location.hasSpeed()
+                ? location.getSpeed() * KMH_PER_METER_PER_SECOND : 0);
+    }
+
+    @Override
+    public void onStatusChanged(String provider, int status, Bundle extras) {
+    }
+
+    @Override
+    public void onProviderEnabled(String provider) {
+        updateProviderStatus(true);
+    }
+
+    @Override
+    public void onProviderDisabled(String provider) {
+        updateProviderStatus(false);
+    }
+
+    private void updateProviderStatus(boolean enabled) {
+        if (enabled) {
+            mGauge.setStatus(SpeedGauge.CONNECTING, mContext.getString(R.string.gauge_searching));
+        } else {
+            mGauge.setStatus(SpeedGauge.CHECK_LOCATION,
+                    mContext.getString(R.string.gauge_location_off));
+        }
+    }
+}
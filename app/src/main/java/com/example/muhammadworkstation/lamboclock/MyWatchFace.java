@@ -17,6 +17,7 @@
 package com.example.muhammadworkstation.lamboclock;
 
 import android.content.BroadcastReceiver;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
@@ -25,26 +26,30 @@ import android.graphics.Bitmap;
 import android.graphics.BlurMaskFilter;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.EmbossMaskFilter;
-import android.graphics.MaskFilter;
-import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Path;
 import android.graphics.Rect;
-import android.graphics.RectF;
-import android.graphics.Shader;
-import android.graphics.SweepGradient;
 import android.graphics.Typeface;
 import android.os.Bundle;
 import android.os.Handler;
-import android.os.Message;
+import android.os.SystemClock;
 import android.support.wearable.watchface.CanvasWatchFaceService;
 import android.support.wearable.watchface.WatchFaceStyle;
-import android.text.format.Time;
+import android.view.Choreographer;
 import android.view.SurfaceHolder;
 
-import java.lang.ref.WeakReference;
+import com.example.muhammadworkstation.lamboclock.dial.DialRenderer;
+import com.example.muhammadworkstation.lamboclock.dial.DialTheme;
+import com.example.muhammadworkstation.lamboclock.dial.DigitFormatter;
+import com.example.muhammadworkstation.lamboclock.dial.HandPositions;
+
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
@@ -60,47 +65,106 @@ public class MyWatchFace extends CanvasWatchFaceService {
     private static final long INTERACTIVE_UPDATE_RATE_MS = TimeUnit.SECONDS.toMillis(1);
 
     /**
-     * Handler message id for updating the time periodically in interactive mode.
+     * Engines that are currently alive, for {@link #dump}.
+     */
+    private final ArrayList<Engine> mEngines = new ArrayList<>();
+
+    /**
+     * Rendered dials shared by all engines, so the face and its previews render each variant
+     * once.
+     */
+    private final SharedDialCache mDialCache = new SharedDialCache(DialCache.DEFAULT_MAX_BYTES);
+
+    /**
+     * Renders dials for all engines on one background thread.
+     */
+    private DialPrerenderer mDialPrerenderer;
+
+    /**
+     * Dial themes, in the order taps cycle through them. Read once for all engines.
      */
-    private static final int MSG_UPDATE_TIME = 0;
+    private List<DialTheme> mThemes;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        mThemes = loadThemes();
+        mDialPrerenderer = new DialPrerenderer(this, mThemes, new Handler(),
+                new DialPrerenderer.Callback() {
+                    @Override
+                    public void onDialRendered(DialCache.Key key, Bitmap dial) {
+                        mDialCache.put(key, dial);
+                        for (Engine engine : mEngines) {
+                            engine.onDialRendered(key);
+                        }
+                    }
+                });
+        mDialPrerenderer.start(getResources().getBoolean(R.bool.parallel_dial_render));
+    }
+
+    private List<DialTheme> loadThemes() {
+        try {
+            Reader in = new InputStreamReader(getResources().openRawResource(R.raw.dial_themes),
+                    "UTF-8");
+            try {
+                List<DialTheme> themes = DialTheme.parse(in);
+                return themes.isEmpty() ? Collections.singletonList(DialTheme.DEFAULT) : themes;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the dial themes", e);
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        mDialPrerenderer.quit();
+        mDialCache.evictIdle();
+        super.onDestroy();
+    }
 
     @Override
     public Engine onCreateEngine() {
         return new Engine();
     }
 
-    private static class EngineHandler extends Handler {
-        private final WeakReference<MyWatchFace.Engine> mWeakReference;
-
-        public EngineHandler(MyWatchFace.Engine reference) {
-            mWeakReference = new WeakReference<>(reference);
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        for (Engine engine : mEngines) {
+            engine.onTrimMemory(level);
         }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            mDialCache.evictIdle();
+        }
+    }
 
-        @Override
-        public void handleMessage(Message msg) {
-            MyWatchFace.Engine engine = mWeakReference.get();
-            if (engine != null) {
-                switch (msg.what) {
-                    case MSG_UPDATE_TIME:
-                        engine.handleUpdateTimeMessage();
-                        break;
-                }
-            }
+    /**
+     * Reports the render timings of every live engine, e.g. through
+     * {@code adb shell dumpsys activity service MyWatchFace}.
+     */
+    @Override
+    protected void dump(FileDescriptor fd, PrintWriter writer, String[] args) {
+        super.dump(fd, writer, args);
+        writer.print("Dial cache ");
+        writer.println(mDialCache);
+        for (Engine engine : mEngines) {
+            engine.dump("  ", writer);
         }
     }
 
     private class Engine extends CanvasWatchFaceService.Engine {
-        final Handler mUpdateTimeHandler = new EngineHandler(this);
         boolean mRegisteredTimeZoneReceiver = false;
         Paint mBackgroundPaint;
         Paint mHandPaint;
         boolean mAmbient;
-        Time mTime;
+        final ZoneClock mClock = new ZoneClock();
         final BroadcastReceiver mTimeZoneReceiver = new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
-                mTime.clear(intent.getStringExtra("time-zone"));
-                mTime.setToNow();
+                String id = intent.getStringExtra("time-zone");
+                mClock.setTimeZone(id != null ? TimeZone.getTimeZone(id) : TimeZone.getDefault());
             }
         };
         int mTapCount;
@@ -111,6 +175,73 @@ public class MyWatchFace extends CanvasWatchFaceService {
          */
         boolean mLowBitAmbient;
 
+        /**
+         * The key of the dial variant currently shown. While {@link #cashedBitmap} is not null,
+         * this engine holds a reference to it in {@link #mDialCache}.
+         */
+        DialCache.Key mDialKey;
+
+        /**
+         * Set when the dial for {@link #mDialKey} arrived from {@link #mDialPrerenderer} and has
+         * not been drawn yet.
+         */
+        boolean mDialSwapped;
+
+        /**
+         * Tints the alpha-only ambient dial when it is blitted onto the black background.
+         */
+        Paint mAmbientDialPaint;
+
+        /**
+         * The minute layer, with the dial and the hour and minute hands redrawn once a minute,
+         * and an offscreen copy of the last composed frame. Each frame only the dirty part of
+         * the frame is redrawn from the minute layer, which is usually just the old and new
+         * second hand.
+         */
+        final FrameSurfaces mSurfaces = new FrameSurfaces();
+        final Rect mDirtyRect = new Rect();
+
+        /**
+         * The part of the surface {@link #drawFrame} copies the frame to, and whether it has to
+         * be all of it because the last frame never reached the surface.
+         */
+        final Rect mPresentRect = new Rect();
+        boolean mPresentFull = true;
+        final Rect mSecondHandRect = new Rect();
+        int mDrawnSweepStep = -1;
+        int mDrawnMinute = -1;
+        int mDrawnHour = -1;
+
+        /**
+         * Whether the second hand sweeps at {@link #mFrameGovernor}'s rate instead of ticking.
+         */
+        boolean mSweepSecondHand;
+        FrameGovernor mFrameGovernor;
+
+        /**
+         * Asks for every frame this engine draws, see {@link #updateSchedule}.
+         */
+        FrameScheduler mScheduler;
+
+        /**
+         * Per-stage frame timings, reported by {@link MyWatchFace#dump} and optionally drawn on
+         * screen.
+         */
+        final RenderStats mRenderStats = new RenderStats();
+        boolean mShowRenderStats;
+
+        /**
+         * Whether the speed and distance readouts are drawn next to the needle.
+         */
+        boolean mShowReadouts;
+        Paint mRenderStatsPaint;
+        final StringBuilder mRenderStatsText = new StringBuilder(48);
+
+        /**
+         * Tips of the hands for the frame being drawn.
+         */
+        final HandPositions mHands = new HandPositions();
+
         @Override
         public void onCreate(SurfaceHolder holder) {
             super.onCreate(holder);
@@ -125,7 +256,7 @@ public class MyWatchFace extends CanvasWatchFaceService {
             Resources resources = MyWatchFace.this.getResources();
 
             mBackgroundPaint = new Paint();
-            mBackgroundPaint.setColor(resources.getColor(R.color.background));
+            mBackgroundPaint.setColor(getDialTheme(getThemeIndex()).getBackgroundColor());
 
             mHandPaint = new Paint();
             mHandPaint.setColor(resources.getColor(R.color.analog_hands));
@@ -133,12 +264,42 @@ public class MyWatchFace extends CanvasWatchFaceService {
             mHandPaint.setAntiAlias(true);
             mHandPaint.setStrokeCap(Paint.Cap.ROUND);
 
-            mTime = new Time();
+            mAmbientDialPaint = new Paint();
+            mAmbientDialPaint.setColor(Color.WHITE);
+
+            mSweepSecondHand = resources.getBoolean(R.bool.sweep_second_hand);
+            mFrameGovernor = new FrameGovernor(resources.getInteger(R.integer.sweep_frame_rate));
+
+            mShowRenderStats = resources.getBoolean(R.bool.show_render_stats);
+            mShowReadouts = resources.getBoolean(R.bool.show_readouts);
+            mSpeedGaugeEnabled = resources.getBoolean(R.bool.speed_gauge);
+            mSpeedSource = new LocationSpeedSource(MyWatchFace.this, mGauge);
+            mRenderStatsPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mRenderStatsPaint.setColor(Color.YELLOW);
+            mRenderStatsPaint.setTextSize(resources.getDimension(R.dimen.render_stats_text_size));
+            mRenderStatsPaint.setTextAlign(Paint.Align.CENTER);
+
+            mScheduler = new FrameScheduler(Choreographer.getInstance(), new Handler(),
+                    new FrameScheduler.Callback() {
+                        @Override
+                        public void onFrame() {
+                            drawFrame();
+                        }
+                    });
+
+            mEngines.add(this);
         }
 
         @Override
         public void onDestroy() {
-            mUpdateTimeHandler.removeMessages(MSG_UPDATE_TIME);
+            mEngines.remove(this);
+            mSpeedSource.stop();
+            mScheduler.stop();
+            releaseDial();
+            mSurfaces.release();
+            releaseNeedleSprite();
+            releaseReadouts();
+            releaseProgress();
             super.onDestroy();
         }
 
@@ -148,10 +309,30 @@ public class MyWatchFace extends CanvasWatchFaceService {
             mLowBitAmbient = properties.getBoolean(PROPERTY_LOW_BIT_AMBIENT, false);
         }
 
+        @Override
+        public void onSurfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+            super.onSurfaceChanged(holder, format, width, height);
+            // Nothing of ours is on the new surface yet.
+            mPresentFull = true;
+            // Start on the dials for the current mode and the other one before the first
+            // frame asks for them.
+            int theme = getThemeIndex();
+            DialCache.Key interactive = new DialCache.Key(width, height, theme, false,
+                    mLowBitAmbient);
+            DialCache.Key ambient = new DialCache.Key(width, height, 0, true, mLowBitAmbient);
+            if (isInAmbientMode()) {
+                requestDial(ambient);
+                requestDial(interactive);
+            } else {
+                requestDial(interactive);
+                requestDial(ambient);
+            }
+        }
+
         @Override
         public void onTimeTick() {
             super.onTimeTick();
-            invalidate();
+            mScheduler.invalidate(FrameScheduler.LAYER_MINUTE);
         }
 
         @Override
@@ -162,21 +343,21 @@ public class MyWatchFace extends CanvasWatchFaceService {
                 if (mLowBitAmbient) {
                     mHandPaint.setAntiAlias(!inAmbientMode);
                 }
-                invalidate();
+                mScheduler.invalidate(FrameScheduler.LAYER_ALL);
             }
 
-            // Whether the timer should be running depends on whether we're visible (as well as
-            // whether we're in ambient mode), so we may need to start or stop the timer.
-            updateTimer();
+            // Whether frames are scheduled depends on whether we're visible (as well as
+            // whether we're in ambient mode), so we may need to start or stop them.
+            updateSpeedSource();
+            updateSchedule();
         }
 
         /**
-         * Captures tap event (and tap type) and toggles the background color if the user finishes
+         * Captures tap event (and tap type) and moves on to the next theme if the user finishes
          * a tap.
          */
         @Override
         public void onTapCommand(int tapType, int x, int y, long eventTime) {
-            Resources resources = MyWatchFace.this.getResources();
             switch (tapType) {
                 case TAP_TYPE_TOUCH:
                     // The user has started touching the screen.
@@ -187,55 +368,337 @@ public class MyWatchFace extends CanvasWatchFaceService {
                 case TAP_TYPE_TAP:
                     // The user has completed the tap gesture.
                     mTapCount++;
-                    mBackgroundPaint.setColor(resources.getColor(mTapCount % 2 == 0 ?
-                            R.color.background : R.color.background2));
+                    mBackgroundPaint.setColor(getDialTheme(getThemeIndex()).getBackgroundColor());
+                    mScheduler.invalidate(FrameScheduler.LAYER_MINUTE);
                     break;
             }
-            invalidate();
         }
 
         @Override
         public void onDraw(Canvas canvas, Rect bounds) {
-            mTime.setToNow();
+            long drawStartNanos = System.nanoTime();
+            composeFrame(bounds);
+
+            // The system locks the whole surface, so the composed frame is copied in full.
+            long stageStartNanos = System.nanoTime();
+            canvas.drawBitmap(mSurfaces.getFrame(), 0, 0, null);
+            mRenderStats.add(RenderStats.STAGE_COMPOSE_FULL, System.nanoTime() - stageStartNanos);
+            mRenderStats.addPresented(bounds.width() * bounds.height(),
+                    bounds.width() * bounds.height());
+            mPresentFull = false;
+
+            drawRenderStats(canvas, bounds);
+            endFrame(drawStartNanos);
+        }
 
-            // Draw the background.
-            if (isInAmbientMode()) {
-                canvas.drawColor(Color.BLACK);
-            } else {
-                canvas.drawRect(0, 0, canvas.getWidth(), canvas.getHeight(), mBackgroundPaint);
-            }
+        /**
+         * Brings the offscreen frame up to date and sets {@link #mDirtyRect} to the part of it
+         * that changed.
+         */
+        private void composeFrame(Rect bounds) {
+            int dirtyLayers = mScheduler.takeDirtyLayers();
+            mClock.set(mScheduler.getFrameTimeMs());
+
+            // The cached dial is opaque and covers the whole surface, so it doubles as the
+            // background.
+            boolean dialChanged = updateDial(bounds);
 
             // Find the center. Ignore the window insets so that, on round watches with a
             // "chin", the watch face is centered on the entire screen, not just the usable
             // portion.
-            lampoOnDraw(canvas,bounds);
             float centerX = bounds.width() / 2f;
             float centerY = bounds.height() / 2f;
 
-            float secRot = mTime.second / 30f * (float) Math.PI;
-            int minutes = mTime.minute;
-            float minRot = minutes / 30f * (float) Math.PI;
-            float hrRot = ((mTime.hour + (minutes / 60f)) / 6f) * (float) Math.PI;
+            mHands.place(centerX, centerY, mClock.getHour(), mClock.getMinute(),
+                    mClock.getSecond(), isSweeping() ? mClock.getMillis() : 0);
+            int sweepStep = mHands.sweepStep;
+            int minutes = mHands.minuteStep;
+            int hours = mHands.hourStep;
+
+            if (mSurfaces.ensure(bounds.width(), bounds.height())) {
+                dialChanged = true;
+            }
+            Canvas minuteCanvas = mSurfaces.getMinuteCanvas();
+            Canvas frameCanvas = mSurfaces.getFrameCanvas();
+
+            if (dialChanged || mAmbient || (dirtyLayers & FrameScheduler.LAYER_MINUTE) != 0
+                    || minutes != mDrawnMinute || hours != mDrawnHour) {
+                // Flatten the dial and the slow hands once a minute.
+                mDirtyRect.set(0, 0, bounds.width(), bounds.height());
+                long stageStartNanos = System.nanoTime();
+                lampoOnDraw(minuteCanvas, bounds, mDirtyRect);
+                mRenderStats.add(RenderStats.STAGE_DIAL, System.nanoTime() - stageStartNanos);
+                stageStartNanos = System.nanoTime();
+                drawMinuteHands(minuteCanvas, centerX, centerY);
+                mRenderStats.add(RenderStats.STAGE_HANDS, System.nanoTime() - stageStartNanos);
+                setHandBounds(mSecondHandRect, centerX, centerY, mHands.secondX, mHands.secondY);
+            } else if (sweepStep != mDrawnSweepStep) {
+                // Only the second hand moved: repaint where it was and where it is now.
+                mDirtyRect.set(mSecondHandRect);
+                setHandBounds(mSecondHandRect, centerX, centerY, mHands.secondX, mHands.secondY);
+                mDirtyRect.union(mSecondHandRect);
+            } else {
+                mDirtyRect.setEmpty();
+            }
+            float needle = mGauge.getNeedle().update(System.nanoTime());
+            int progressFrame = isShowingProgress()
+                    ? ProgressSprite.frameAt(SystemClock.uptimeMillis()) : -1;
+            boolean gaugeShown = isGaugeShown();
+            // A gauge that was just hidden is cleared from where it was drawn.
+            if ((gaugeShown || mDrawnGauge) && (needle != mDrawnNeedle
+                    || progressFrame != mDrawnProgressFrame || gaugeShown != mDrawnGauge
+                    || (dirtyLayers & FrameScheduler.LAYER_LIVE) != 0)) {
+                int needleRadius = (int) Math.ceil(circleRatio) + 1;
+                mDirtyRect.union((int) centerX - needleRadius, (int) centerY - needleRadius,
+                        (int) centerX + needleRadius, (int) centerY + needleRadius);
+            }
+            mDrawnSweepStep = sweepStep;
+            mDrawnMinute = minutes;
+            mDrawnHour = hours;
+            mDrawnNeedle = needle;
+            mDrawnGauge = gaugeShown;
+            mDrawnProgressFrame = progressFrame;
+
+            if (!mDirtyRect.isEmpty()) {
+                frameCanvas.save();
+                frameCanvas.clipRect(mDirtyRect);
+                long stageStartNanos = System.nanoTime();
+                frameCanvas.drawBitmap(mSurfaces.getMinuteLayer(), mDirtyRect, mDirtyRect, null);
+                mRenderStats.add(RenderStats.STAGE_BACKGROUND,
+                        System.nanoTime() - stageStartNanos);
+                if (!mAmbient) {
+                    stageStartNanos = System.nanoTime();
+                    frameCanvas.drawLine(centerX, centerY, mHands.secondX, mHands.secondY,
+                            mHandPaint);
+                    mRenderStats.add(RenderStats.STAGE_HANDS,
+                            System.nanoTime() - stageStartNanos);
+                }
+                stageStartNanos = System.nanoTime();
+                drawLiveLayer(frameCanvas, bounds);
+                mRenderStats.add(RenderStats.STAGE_INDICATOR,
+                        System.nanoTime() - stageStartNanos);
+                frameCanvas.restore();
+            }
+
+        }
+
+        /**
+         * Draws the frame {@link #mScheduler} asked for straight onto the surface, from the
+         * vsync callback itself. Going through {@code invalidate()} would only draw it on the
+         * vsync after. Ambient frames are left to the system, which draws them with
+         * {@link #onDraw} while it keeps the device awake for them.
+         *
+         * <p>Only the dirty part of the frame is copied to the surface, so a tick costs about
+         * the size of the second hand rather than the size of the screen.
+         */
+        private void drawFrame() {
+            if (!isVisible()) {
+                mScheduler.resetFrameRequest();
+                return;
+            }
+            if (isInAmbientMode()) {
+                invalidate();
+                // Its onDraw takes the dirty layers; until then a new request asks again.
+                mScheduler.resetFrameRequest();
+                return;
+            }
+            long drawStartNanos = System.nanoTime();
+            SurfaceHolder holder = getSurfaceHolder();
+            Rect bounds = holder.getSurfaceFrame();
+            composeFrame(bounds);
+
+            if (mPresentFull) {
+                mPresentRect.set(bounds);
+            } else {
+                mPresentRect.set(mDirtyRect);
+            }
+            if (mShowRenderStats) {
+                mPresentRect.union(0, 0, bounds.width(),
+                        (int) Math.ceil(getRenderStatsBottom(bounds)));
+            }
+            if (!mPresentRect.isEmpty()) {
+                long stageStartNanos = System.nanoTime();
+                // The surface copies the rest of the last frame into the new buffer, and widens
+                // the rect to what it could not copy.
+                Canvas canvas = holder.lockCanvas(mPresentRect);
+                if (canvas == null) {
+                    // The frame is composed but not shown; the next one shows all of it.
+                    mPresentFull = true;
+                } else {
+                    try {
+                        canvas.drawBitmap(mSurfaces.getFrame(), mPresentRect, mPresentRect,
+                                null);
+                        mRenderStats.add(mPresentRect.contains(bounds)
+                                        ? RenderStats.STAGE_COMPOSE_FULL
+                                        : RenderStats.STAGE_COMPOSE,
+                                System.nanoTime() - stageStartNanos);
+                        mRenderStats.addPresented(mPresentRect.width() * mPresentRect.height(),
+                                bounds.width() * bounds.height());
+                        drawRenderStats(canvas, bounds);
+                    } finally {
+                        holder.unlockCanvasAndPost(canvas);
+                    }
+                    mPresentFull = false;
+                }
+            }
+            endFrame(drawStartNanos);
+        }
+
+        private void endFrame(long drawStartNanos) {
+            long drawNanos = System.nanoTime() - drawStartNanos;
+            mRenderStats.endFrame(drawNanos);
+            if (isAnimating()) {
+                mFrameGovernor.onFrameDrawn(drawNanos);
+            }
+            // Picks up a settled needle and a new governor rate for the next frame.
+            updateSchedule();
+        }
+
+        /**
+         * Draws the frame time summary near the top of the screen, above the dial.
+         */
+        private void drawRenderStats(Canvas canvas, Rect bounds) {
+            if (!mShowRenderStats) {
+                return;
+            }
+            long stageStartNanos = System.nanoTime();
+            mRenderStatsText.setLength(0);
+            mRenderStats.appendSummary(mRenderStatsText);
+            canvas.drawText(mRenderStatsText, 0, mRenderStatsText.length(), bounds.width() / 2f,
+                    bounds.height() / 8f, mRenderStatsPaint);
+            mRenderStats.add(RenderStats.STAGE_TEXT, System.nanoTime() - stageStartNanos);
+        }
+
+        /**
+         * Returns the lowest y the frame time summary reaches.
+         */
+        private float getRenderStatsBottom(Rect bounds) {
+            return bounds.height() / 8f + mRenderStatsPaint.descent();
+        }
+
+        private void releaseNeedleSprite() {
+            if (mNeedleSprite != null) {
+                mNeedleSprite.recycle();
+                mNeedleSprite = null;
+            }
+        }
+
+        private void releaseProgress() {
+            if (mProgressSprite != null) {
+                mProgressSprite.recycle();
+                mProgressSprite = null;
+            }
+            if (mStatusAtlas != null) {
+                mStatusAtlas.recycle();
+                mStatusAtlas = null;
+                mStatusAtlasText = null;
+            }
+        }
+
+        private int getProgressByteCount() {
+            return (mProgressSprite != null ? mProgressSprite.getByteCount() : 0)
+                    + (mStatusAtlas != null ? mStatusAtlas.getByteCount() : 0);
+        }
+
+        /**
+         * Gives back the reference to the dial in use. The next frame looks it up again.
+         */
+        private void releaseDial() {
+            if (cashedBitmap != null) {
+                mDialCache.release(mDialKey);
+                cashedBitmap = null;
+            }
+            mDialKey = null;
+        }
 
-            float secLength = centerX - 20;
-            float minLength = centerX - 40;
-            float hrLength = centerX - 80;
+        /**
+         * Called on the main thread when any engine's dial request has been rendered.
+         */
+        void onDialRendered(DialCache.Key key) {
+            if (cashedBitmap == null && key.equals(mDialKey)) {
+                cashedBitmap = mDialCache.acquire(key);
+                mDialSwapped = true;
+                mScheduler.invalidate(FrameScheduler.LAYER_MINUTE);
+            }
+        }
 
-            if (!mAmbient) {
-                float secX = (float) Math.sin(secRot) * secLength;
-                float secY = (float) -Math.cos(secRot) * secLength;
-                canvas.drawLine(centerX, centerY, centerX + secX, centerY + secY, mHandPaint);
+        /**
+         * Gives back bitmap memory as the system asks for it. Everything released here is
+         * created again when it is next drawn.
+         */
+        void onTrimMemory(int level) {
+            if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW && !isGaugeShown()) {
+                releaseNeedleSprite();
+                releaseReadouts();
+            }
+            if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW && !isShowingProgress()) {
+                releaseProgress();
+            }
+            if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL && !isVisible()) {
+                // The dial comes back from the disk cache on the next frame.
+                releaseDial();
+                mSurfaces.release();
             }
+        }
+
+        /**
+         * Bytes of bitmap memory currently held by this engine alone, not counting the shared
+         * dials.
+         */
+        int getBitmapByteCount() {
+            return mSurfaces.getByteCount()
+                    + (mNeedleSprite != null ? mNeedleSprite.getByteCount() : 0)
+                    + getReadoutByteCount()
+                    + getProgressByteCount();
+        }
 
-            float minX = (float) Math.sin(minRot) * minLength;
-            float minY = (float) -Math.cos(minRot) * minLength;
-            canvas.drawLine(centerX, centerY, centerX + minX, centerY + minY, mHandPaint);
+        void dump(String prefix, PrintWriter out) {
+            out.print(prefix);
+            out.print("Engine dial=");
+            out.print(mDialKey);
+            out.print(" sweep=");
+            out.print(isSweeping());
+            out.print(" fps=");
+            out.println(mFrameGovernor.getFrameRate());
+            out.print(prefix);
+            out.print("  clock=");
+            out.println(mClock);
+            out.print(prefix);
+            mScheduler.dump(prefix + "  ", out);
+            out.print(prefix);
+            out.print("  speed=");
+            out.println(mGauge.getSpeedSamples());
+            out.print(prefix);
+            out.print("  bitmaps=");
+            out.print(getBitmapByteCount());
+            out.print(" surfaces=");
+            out.print(mSurfaces.getByteCount());
+            out.print(" needle=");
+            out.print(mNeedleSprite != null ? mNeedleSprite.getByteCount() : 0);
+            out.print(" readouts=");
+            out.print(getReadoutByteCount());
+            out.print(" progress=");
+            out.println(getProgressByteCount());
+            mRenderStats.dump(prefix + "  ", out);
+        }
 
-            float hrX = (float) Math.sin(hrRot) * hrLength;
-            float hrY = (float) -Math.cos(hrRot) * hrLength;
-            canvas.drawLine(centerX, centerY, centerX + hrX, centerY + hrY, mHandPaint);
+        private void drawMinuteHands(Canvas canvas, float centerX, float centerY) {
+            canvas.drawLine(centerX, centerY, mHands.minuteX, mHands.minuteY, mHandPaint);
 
+            canvas.drawLine(centerX, centerY, mHands.hourX, mHands.hourY, mHandPaint);
+        }
 
+        /**
+         * Sets {@code rect} to the area covered by a hand drawn from the center to the given
+         * tip, including the round caps and anti-aliasing.
+         */
+        private void setHandBounds(Rect rect, float centerX, float centerY, float tipX,
+                float tipY) {
+            int pad = (int) Math.ceil(mHandPaint.getStrokeWidth() / 2) + 1;
+            rect.set((int) Math.floor(Math.min(centerX, tipX)) - pad,
+                    (int) Math.floor(Math.min(centerY, tipY)) - pad,
+                    (int) Math.ceil(Math.max(centerX, tipX)) + pad,
+                    (int) Math.ceil(Math.max(centerY, tipY)) + pad);
         }
 
         @Override
@@ -246,15 +709,35 @@ public class MyWatchFace extends CanvasWatchFaceService {
                 registerReceiver();
 
                 // Update time zone in case it changed while we weren't visible.
-                mTime.clear(TimeZone.getDefault().getID());
-                mTime.setToNow();
+                mClock.setTimeZone(TimeZone.getDefault());
+
+                // A frame asked for while hidden may never have been drawn.
+                mScheduler.resetFrameRequest();
             } else {
                 unregisterReceiver();
+                // Nothing is drawn while hidden. The dial in use stays referenced, so the face
+                // can come back without waiting for it.
+                mSurfaces.release();
+                releaseNeedleSprite();
+                releaseProgress();
             }
 
-            // Whether the timer should be running depends on whether we're visible (as well as
-            // whether we're in ambient mode), so we may need to start or stop the timer.
-            updateTimer();
+            // Whether frames are scheduled depends on whether we're visible (as well as
+            // whether we're in ambient mode), so we may need to start or stop them.
+            updateSpeedSource();
+            updateSchedule();
+        }
+
+        /**
+         * Listens for GPS fixes only while the gauge can be seen, since it is hidden in ambient
+         * mode.
+         */
+        private void updateSpeedSource() {
+            if (mSpeedGaugeEnabled && shouldTimerBeRunning()) {
+                mSpeedSource.start();
+            } else {
+                mSpeedSource.stop();
+            }
         }
 
         private void registerReceiver() {
@@ -275,826 +758,373 @@ public class MyWatchFace extends CanvasWatchFaceService {
         }
 
         /**
-         * Starts the {@link #mUpdateTimeHandler} timer if it should be running and isn't currently
-         * or stops it if it shouldn't be running but currently is.
+         * Points {@link #mScheduler} at the current state: vsync-paced frames at the governor's
+         * rate while something animates, a tick on the next second otherwise, and nothing at
+         * all when hidden or in ambient mode, where {@link #onTimeTick} drives the face.
          */
-        private void updateTimer() {
-            mUpdateTimeHandler.removeMessages(MSG_UPDATE_TIME);
-            if (shouldTimerBeRunning()) {
-                mUpdateTimeHandler.sendEmptyMessage(MSG_UPDATE_TIME);
+        private void updateSchedule() {
+            if (!shouldTimerBeRunning()) {
+                mScheduler.stop();
+            } else if (isAnimating()) {
+                mScheduler.cancelTick();
+                mScheduler.animate(isNeedleMoving() || isShowingProgress()
+                        ? FrameScheduler.LAYER_SECOND | FrameScheduler.LAYER_LIVE
+                        : FrameScheduler.LAYER_SECOND, mFrameGovernor.getFrameIntervalMs());
+            } else {
+                mScheduler.stopAnimation();
+                mScheduler.scheduleTick(FrameScheduler.LAYER_SECOND, INTERACTIVE_UPDATE_RATE_MS);
             }
         }
 
         /**
-         * Returns whether the {@link #mUpdateTimeHandler} timer should be running. The timer should
-         * only run when we're visible and in interactive mode.
+         * Returns whether frames should be scheduled. They should only be when we're visible
+         * and in interactive mode.
          */
         private boolean shouldTimerBeRunning() {
             return isVisible() && !isInAmbientMode();
         }
 
         /**
-         * Handle updating the time periodically in interactive mode.
+         * Returns whether the second hand is currently sweeping rather than ticking.
          */
-        private void handleUpdateTimeMessage() {
-            invalidate();
-            if (shouldTimerBeRunning()) {
-                long timeMs = System.currentTimeMillis();
-                long delayMs = INTERACTIVE_UPDATE_RATE_MS
-                        - (timeMs % INTERACTIVE_UPDATE_RATE_MS);
-                mUpdateTimeHandler.sendEmptyMessageDelayed(MSG_UPDATE_TIME, delayMs);
-            }
+        private boolean isSweeping() {
+            return mSweepSecondHand && !mAmbient;
+        }
+
+        /**
+         * Returns whether the speed gauge is drawn. It is hidden in ambient mode.
+         */
+        private boolean isGaugeShown() {
+            return mGauge.isRunning() && !mAmbient;
+        }
+
+        /**
+         * Returns whether the speed needle is still on its way to the last speed.
+         */
+        private boolean isNeedleMoving() {
+            return !mAmbient && mGauge.isNeedleMoving();
+        }
+
+        /**
+         * Returns whether the gauge is waiting for its connection, in which case the spinner
+         * and the status message are shown instead of the needle.
+         */
+        private boolean isShowingProgress() {
+            return !mAmbient && mGauge.isShowingProgress();
+        }
+
+        /**
+         * Returns whether frames are currently drawn at the animation rate rather than once a
+         * second.
+         */
+        private boolean isAnimating() {
+            return isSweeping() || isNeedleMoving() || isShowingProgress();
         }
 
 
 
 
+        /**
+         * Draws the dial and the needle; {@link #mDialCanvas} points it at the Android canvas
+         * being drawn.
+         */
+        private final DialRenderer mDialRenderer = new DialRenderer();
+        private final AndroidDialCanvas mDialCanvas = new AndroidDialCanvas();
+
         private float  circleRatio ;
-        private float progressAnimationDegree=0;
-
-        private Path segmentDashPath;
-        private Path inbetweenArcPath;
-        private Path smallDashesArcPath;
-        private Path indicatorRingPath;
-        private Path innerBluePath1; //the outer one
-        private Path innerBluePath2; //the inner one
-        private Path innerYellowPath;
-        private Path standAloneNumberPath;
-        private Path progressAnimationPath;
-        private Paint segmentPaint;
-        private Paint firstSegmentPaint;
-        private Paint inbetweenArcPaint;
-        private Paint smallDashPaint;
-        private Paint outerRingPaint;
-        private Paint smallDashesPathPaint;
-        private Paint textPaint;
-        private Paint indicatorInnerBallPaint;
-        private Paint bitmabPaint;
-        private Paint indicatorRingPaint;
-        private Paint indicatorRingBlurPaint;
-        private Paint innerBluePaint1;
-        private Paint innerBluePaint2;
-        private Paint innerYellowPaint;
-        private Paint standAloneNumberPaint;
-        private Paint silverPaint;
-        private Paint silverBlurPaint;
+
         private Paint progressAnimationPaint;
         private Paint progressAnimationBlurPaint;
         private Paint statusMessagePaint;
-        private Paint antiFiberPaint ;
-
-        private MaskFilter filter;
-        private MaskFilter silverFilter;
 
         private Typeface typeface;
 
-        private Matrix rotationMatrix;
-        private Matrix progressAnimationMatrix;
-
-        private RectF segemntDashArcRect;
-        private RectF outerRingRect;
-        private RectF smallDashesArcRect;
-        private RectF indicatorCircleRec;
-        private RectF upperArcRect;
-        private RectF innerBlueRect1;
-        private RectF innerBlueRect2_1;
-        private RectF innerBlueRect2_2;
-        private RectF innerYellowRect;
-
          Bitmap cashedBitmap;
-         Bitmap smartBitmap;
-
 
 
-        private Shader smartThirdCircleShader;
-        private Shader smartFourthCircleShader;
 
+        /**
+         * The speed gauge drawn in the live layer, fed by {@link #mSpeedSource} while the
+         * face is visible and interactive.
+         */
+        final SpeedGauge mGauge = new SpeedGauge(new SpeedGauge.Callback() {
+            @Override
+            public void onGaugeChanged(boolean animating) {
+                if (!mAmbient) {
+                    mScheduler.invalidate(FrameScheduler.LAYER_LIVE);
+                }
+                if (animating) {
+                    // Starts or stops frames for the needle or the spinner.
+                    updateSchedule();
+                }
+            }
+        });
+        boolean mSpeedGaugeEnabled;
+        LocationSpeedSource mSpeedSource;
+        private float mDrawnNeedle = Float.NaN;
+        private boolean mDrawnGauge;
 
-        private double newSpeed;
-        private double oldSpeed=0;
+        /**
+         * The needle rendered for the current size, created the first time it is drawn.
+         */
+        private NeedleSprite mNeedleSprite;
 
+        /**
+         * The spinner and the status message shown instead of the needle until the gauge is
+         * {@link SpeedGauge#CONNECTED}, rendered for the current size the first time they are
+         * drawn.
+         */
+        private ProgressSprite mProgressSprite;
+        private GlyphAtlas mStatusAtlas;
+        private String mStatusAtlasText;
+        private int mDrawnProgressFrame = -1;
 
-        private double newAcc;
-        private double oldAcc=0;
 
         private boolean isItFirst=true;
-        private boolean surfaceCreated=false;
-        private boolean smartFirst=true;
-
-        float SEGEMNT_HIEGHT =1.05f;
-        private Paint txtPaint;
-
-        private boolean isRunning=false;
-        protected boolean progressAnimationState=true;
-        protected int  status;
-        String messgae;
-        public static final int CONNECTED=0;
-        public static final int CONNECTING=1;
-        public static final int CHECK_LOCATION=2;
 
+        /**
+         * Indices of the themes in {@code res/raw/dial_themes.txt}.
+         */
         public static final int SMART_THEME=0;
         public static final int FURIOUS_THEME=1;
 
+        /**
+         * Readouts drawn next to the needle when {@link #mShowReadouts} is set. Their glyphs
+         * are rendered once per text size, and the text is formatted into a reused buffer, so
+         * drawing them every frame allocates nothing.
+         */
+        private GlyphAtlas mSpeedAtlas;
+        private GlyphAtlas mUnitAtlas;
+        private GlyphAtlas mDistanceAtlas;
+        private final DigitFormatter mReadoutText = new DigitFormatter(16);
+        private Paint mReadoutPaint;
 
-        private String unitPerHour;
-        private String unit;
-        private String smallUnit;
-
-        private int avgZeroCount=0;
-        private int avg=0;
 
-        private Typeface aSans;
-        private String ValueTxt;
 
+        /**
+         * Makes {@link #cashedBitmap} hold the dial variant for the current state. On a cache
+         * miss it is left null and the dial is requested from {@link #mDialPrerenderer}, and a
+         * placeholder is drawn until it arrives. Returns whether a different dial is now in use.
+         */
+        private boolean updateDial(Rect bounds) {
+            boolean changed = mDialSwapped;
+            mDialSwapped = false;
+            boolean ambient = isInAmbientMode();
+            // The ambient dial is always drawn on black, so it does not depend on the theme.
+            int theme = ambient ? SMART_THEME : getThemeIndex();
+            if (mDialKey == null || !mDialKey.matches(bounds.width(), bounds.height(), theme,
+                    ambient, mLowBitAmbient)) {
+                releaseDial();
+                mDialKey = new DialCache.Key(bounds.width(), bounds.height(), theme, ambient,
+                        mLowBitAmbient);
+                if (!ambient) {
+                    mDialRenderer.setTheme(getDialTheme(theme));
+                }
+                updateDialSize(mDialKey.width);
+                cashedBitmap = mDialCache.acquire(mDialKey);
+                if (cashedBitmap == null) {
+                    requestDial(mDialKey);
+                }
+                changed = true;
+            }
+            return changed;
+        }
 
+        /**
+         * Queues a background render of {@code key} unless it is cached or already queued.
+         */
+        private void requestDial(DialCache.Key key) {
+            if (!mDialCache.contains(key)) {
+                mDialPrerenderer.request(key);
+            }
+        }
 
-        ArrayList<Float> avgSpeeds;
+        /**
+         * Returns the index of the theme picked by tapping.
+         */
+        private int getThemeIndex() {
+            return mTapCount % mThemes.size();
+        }
 
+        private DialTheme getDialTheme(int index) {
+            return mThemes.get(index);
+        }
 
+        /**
+         * Draws the dial into the {@code dirty} part of {@code canvas}.
+         */
+        private void lampoOnDraw(Canvas canvas ,Rect bounds, Rect dirty) {
+            if (cashedBitmap == null) {
+                // The dial is still being rendered; the plain background stands in for it.
+                canvas.drawColor(mDialKey.ambient ? Color.BLACK : mBackgroundPaint.getColor());
+                return;
+            }
+            if (mDialKey.ambient) {
+                canvas.drawColor(Color.BLACK);
+                canvas.drawBitmap(cashedBitmap, dirty, dirty, mAmbientDialPaint);
+            } else {
+                canvas.drawBitmap(cashedBitmap, dirty, dirty, null);
+            }
+        }
 
+        /**
+         * Draws the parts of the face that change every frame on top of the minute layer: the
+         * speed needle and its readouts, while the gauge is running.
+         */
+        private void drawLiveLayer(Canvas canvas, Rect bounds) {
+            if (!isGaugeShown()) {
+                return;
+            }
+            canvas.save();
+            canvas.translate(bounds.width() / 2, bounds.height() / 2);
+            if (mGauge.isShowingNeedle()) {
+                drawIndicator(canvas, bounds);
+                if (mShowReadouts) {
+                    drawReadouts(canvas);
+                }
+            } else {
+                drawProgress(canvas);
+            }
+            canvas.restore();
+        }
 
-        private Shader outerShader;
-        private Shader innerShader;
+        /**
+         * Sizes the readouts drawn on top of the dial for a face {@code width} pixels wide.
+         */
+        private void updateDialSize(int width) {
+            if (isItFirst || circleRatio != width / DialRenderer.VIEW_KEY) {
+                mDialRenderer.setSize(width);
+                circleRatio = mDialRenderer.getCircleRatio();
 
-        private static  final int W=0;
-        private static  final int H=1;
+                prepareStatusPaint();
+                isItFirst=false;
+            }
+        }
 
+        /**
+         * Creates the paints for the status messages and readouts, which are drawn directly
+         * rather than through {@link #mDialRenderer}.
+         */
+        private void prepareStatusPaint(){
+            progressAnimationPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
+            progressAnimationPaint.setStyle(Paint.Style.STROKE);
+            progressAnimationPaint.setStrokeWidth(/*4f*/circleRatio / 69.2307f);
+            progressAnimationPaint.setColor(Color.RED);
 
+            progressAnimationBlurPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
+            progressAnimationBlurPaint.setStyle(Paint.Style.STROKE);
+            progressAnimationBlurPaint.setColor(Color.RED);
+            progressAnimationBlurPaint.setStrokeWidth(/*40f*/circleRatio / 6.923076f);
+            progressAnimationBlurPaint.setMaskFilter(new BlurMaskFilter(/*40f*/circleRatio / 6.923076f, BlurMaskFilter.Blur.NORMAL));
 
-        private void lampoOnDraw(Canvas canvas ,Rect bounds) {
-            if (isItFirst){
 
-                /************************************************************************
-                 *************VIEW KEY***************************************************/
-                circleRatio= (float) (bounds.width() / 2.6);
-                /************************************************************************
-                 *************VIEW KEY***************************************************/
 
-                cashedBitmap= Bitmap.createBitmap(bounds.width(), bounds.height(), Bitmap.Config.ARGB_8888);
+            statusMessagePaint=new Paint(Paint.ANTI_ALIAS_FLAG);
+            statusMessagePaint.setColor(Color.YELLOW);
+            statusMessagePaint.setTextSize(/*30*/circleRatio / 9.23f);
+            statusMessagePaint.setTypeface(typeface);
+        }
 
-                newSpeed=/*Math.round(MainActivity.getSpeed())*/0;
 
-                Canvas cashedcancvas=new Canvas(cashedBitmap);
 
 
-                cashedcancvas.drawColor(Color.rgb(6, 11, 30));
-                cashedcancvas.translate(bounds.width() / 2, bounds.height() / 2);
+        //*************************************************************************************************
 
+        private void drawIndicator(Canvas canvas, Rect bounds) {
+            if (mNeedleSprite == null
+                    || !mNeedleSprite.matches(bounds.width(), mDialRenderer.getTheme())) {
+                releaseNeedleSprite();
+                mNeedleSprite = NeedleSprite.render(mDialRenderer, mDialCanvas, bounds.width());
+            }
+            mNeedleSprite.draw(canvas, mGauge.getNeedleDegrees());
+        }
 
+        /**
+         * Draws the current frame of the spinner around the center and the status message
+         * under it, both from bitmaps rendered once.
+         */
+        private void drawProgress(Canvas canvas) {
+            if (mProgressSprite == null || !mProgressSprite.matches(circleRatio)) {
+                if (mProgressSprite != null) {
+                    mProgressSprite.recycle();
+                }
+                mProgressSprite = ProgressSprite.render(circleRatio, progressAnimationPaint,
+                        progressAnimationBlurPaint);
+            }
+            mProgressSprite.draw(canvas, mDrawnProgressFrame, progressAnimationPaint);
 
-                prepareLampoPaint();
-                initVariables();
-                cashedcancvas.drawCircle(0, 0, circleRatio + 20, antiFiberPaint);
-
-                drawInnerTextures(cashedcancvas, bounds);
-                drawSegmentDash(cashedcancvas, bounds);
-                drawNumbers(cashedcancvas, bounds);
-
-                drawWhiteBorder(cashedcancvas, bounds);
-                drawSmallDashes(cashedcancvas, bounds);
-
-
-                drawSliverOuterCircle(cashedcancvas, bounds);
-              //  drawAccGauge(cashedcancvas, bounds);
-                canvas.drawBitmap(cashedBitmap, 0, 0, null);
-
-
-
-
-
-               /* newSpeed=*//*Math.round(MainActivity.getSpeed());*//*0;*/
-                isItFirst=false;
-
-
-            }
-
-
-            canvas.save();
-            canvas.drawBitmap(cashedBitmap, 0, 0, null);
-
-
-            canvas.translate(bounds.width() / 2, bounds.height());
-
-
-
-            /*drawStandAloneNumber(canvas,bounds);*/
-
-
-
-           // drawIndicator(canvas, bounds);
-            /*drawComDistance(canvas,bounds);*/
-            canvas.restore();
-
-
-
-        }
-
-        private void initVariables() {
-
-            avgSpeeds=new ArrayList<>();
-
-
-            segmentDashPath=new Path();
-
-
-
-
-
-
-
-
-
-            segemntDashArcRect=new RectF();
-            outerRingRect=new RectF();
-            smallDashesArcRect=new RectF();
-
-
-            rotationMatrix=new Matrix();
-
-
-            inbetweenArcPath=new Path();
-
-
-
-
-
-
-            smallDashesArcPath=new Path();
-
-
-
-            indicatorRingPath=new Path();
-
-
-
-
-            indicatorCircleRec=new RectF();
-            upperArcRect=new RectF();
-            innerBlueRect1=new RectF();
-
-            innerBluePath1=new Path();
-
-
-
-            innerBlueRect2_1=new RectF();
-            innerBlueRect2_2=new RectF();
-
-
-
-            innerBluePath2=new Path();
-
-
-
-            innerYellowPath=new Path();
-            innerYellowRect=new RectF();
-
-
-
-
-            standAloneNumberPath=new Path();
-
-
-
-
-
-
-            progressAnimationPath=new Path();
-            progressAnimationMatrix=new Matrix();
-
-            progressAnimationState=true;
-
-
-
-
-
-
-
-
-            newSpeed=0;
-        }
-
-        private void drawAccGauge(Canvas canvas, Rect bounds) {
-
-
-       /* segemntDashArcRect.set(-circleRatio, -circleRatio, circleRatio, circleRatio);
-        segmentDashPath.moveTo(getX(65, circleRatio, 0), getY(65, circleRatio, 0));
-        segmentDashPath.arcTo(segemntDashArcRect, 65, 10);
-        segmentDashPath.lineTo(getX(73, circleRatio / SEGEMNT_HIEGHT, 0), getY(73, circleRatio / SEGEMNT_HIEGHT, 0));
-        segmentDashPath.lineTo(getX(67, circleRatio / SEGEMNT_HIEGHT, 0), getY(67, circleRatio / SEGEMNT_HIEGHT, 0));
-        segmentDashPath.close();
-
-        segmentPaint.setColor(Color.YELLOW);
-        *//*canvas.drawPath(segmentDashPath, firstSegmentPaint);*//*
-        canvas.drawPath(segmentDashPath, segmentPaint);
-
-        rotationMatrix.setRotate(-20);
-
-
-        for (int i=0;i<1;i++){
-            segmentDashPath.transform(rotationMatrix);
-            canvas.drawPath(segmentDashPath, segmentPaint);
-
-
-        }
-
-
-        segmentDashPath.rewind();
-
-
-
-
-
-        inbetweenArcPath.rewind();
-        inbetweenArcPath.moveTo(getX(70,circleRatio-27.7,0),getY(70,circleRatio-27.7,0));
-        inbetweenArcPath.lineTo(getX(90-23.6,circleRatio-26.8,0),getY(90-23.6,circleRatio-26.8,0));
-        inbetweenArcPath.lineTo(getX(64,circleRatio,0),getY(64,circleRatio,0));
-        inbetweenArcPath.arcTo(segemntDashArcRect, 64, -7.5f);
-        inbetweenArcPath.lineTo(getX(53.5,circleRatio-26.8,0),getY(53.5,circleRatio-26.8,0));
-        inbetweenArcPath.lineTo(getX(50,circleRatio-27.7,0),getY(50,circleRatio-27.7,0));
-        canvas.drawPath(inbetweenArcPath, inbetweenArcPaint);
-
-
-        // draw blue segemnt
-        inbetweenArcPath.rewind();
-        smallDashesArcRect.set(-circleRatio / 1.0225f, -circleRatio / 1.0225f, circleRatio / 1.0225f, circleRatio / 1.0225f);
-        inbetweenArcPath.moveTo(getX(70-4.6,circleRatio / 1.0747,0),getY(70-4.6,circleRatio / 1.0747,0));
-        inbetweenArcPath.lineTo(getX(70-6.6,circleRatio / 1.0225,0),getY(70-6.6,circleRatio / 1.0225,0));
-        inbetweenArcPath.arcTo(smallDashesArcRect,70-6.6f,-6.5f);
-        inbetweenArcPath.lineTo(getX(54.7,circleRatio / 1.0747,0),getY(54.7,circleRatio / 1.0747,0));
-        smallDashesArcRect.set(-circleRatio / 1.0747f, -circleRatio / 1.0747f, circleRatio / 1.0747f, circleRatio / 1.0747f);
-        inbetweenArcPath.arcTo(smallDashesArcRect,54.7f,10.5f);
-
-        canvas.drawPath(inbetweenArcPath,smallDashesPathPaint);*/
-
-
-
-            //my new fliped segement
-
-
-            inbetweenArcPath.rewind();
-            inbetweenArcPath.moveTo(getX(90 - 5, circleRatio - 19, 0), getY(90 - 5, circleRatio-19,0));
-            inbetweenArcPath.lineTo(getX(90 - 7, circleRatio, 0), getY(90 - 7, circleRatio,0));
-            segemntDashArcRect.set(-circleRatio, -circleRatio, circleRatio, circleRatio);
-            inbetweenArcPath.arcTo(segemntDashArcRect,90-7,-13+7);
-            inbetweenArcPath.lineTo(getX(90 - 15, circleRatio-19, 0), getY(90-15,circleRatio-19,0));
-        /*inbetweenArcPath.close();*/
-
-            canvas.drawPath(inbetweenArcPath, firstSegmentPaint);
-            rotationMatrix.setRotate(-35);
-            inbetweenArcPath.transform(rotationMatrix);
-            canvas.drawPath(inbetweenArcPath, firstSegmentPaint);
-
-
-            //drawing white line
-            inbetweenArcPath.rewind();
-            inbetweenArcPath.moveTo(getX(-10, circleRatio - 27.5, 90), getY(-10, circleRatio - 27.5, 90));
-            inbetweenArcPath.lineTo(getX(-16.97, circleRatio - 24.56f, 90), getY(-16.97, circleRatio - 24.56f, 90));
-            inbetweenArcPath.lineTo(getX(-14, circleRatio - inbetweenArcPaint.getStrokeWidth(), 90), getY(-14, circleRatio - inbetweenArcPaint.getStrokeWidth(), 90));
-            segemntDashArcRect.set(-circleRatio + (inbetweenArcPaint.getStrokeWidth()/2), -circleRatio +(inbetweenArcPaint.getStrokeWidth()/2), circleRatio  -(inbetweenArcPaint.getStrokeWidth()/2), circleRatio  -(inbetweenArcPaint.getStrokeWidth()/2));
-            inbetweenArcPath.arcTo(segemntDashArcRect, 90 - 14, -32.6f);
-            inbetweenArcPath.lineTo(getX(-38, circleRatio - 24.56f, 90), getY(-38, circleRatio - 24.56f, 90));
-            inbetweenArcPath.lineTo(getX(-45,circleRatio - 27.5,90),getY(-45,circleRatio - 27.5,90));
-            canvas.drawPath(inbetweenArcPath,inbetweenArcPaint);
-
-
-
-
-        }
-
-
-
-
-       /* private void drawComDistance(Canvas canvas, Rect bounds) {
-            if (MainActivity.mainUnit==MainActivity.METRIC_UNIT) {
-                ValueTxt = String.valueOf((double) Math.round(MainActivity.getCumulativeDistance() * 10) / 10);
-            }else {
-                ValueTxt = String.valueOf((double) Math.round(MainActivity.getCumulativeDistance()*0.621371 * 10) / 10);
-            }
-
-            canvas.drawText(ValueTxt+" Km",circleRatio/1.73f,circleRatio/1.82186f,innerYellowPaint);
-        }*/
-
-        private void prepareLampoPaint(){
-            segmentPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            segmentPaint.setColor(Color.rgb(60, 117, 140));
-            segmentPaint.setStyle(Paint.Style.FILL);
-            segmentPaint.setStrokeWidth(/*3f*/circleRatio / 92.3f);
-
-            inbetweenArcPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            inbetweenArcPaint.setColor(Color.WHITE);
-            inbetweenArcPaint.setStyle(Paint.Style.STROKE);
-
-            smallDashPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            smallDashPaint.setColor(Color.WHITE);
-
-            outerRingPaint =new Paint(Paint.ANTI_ALIAS_FLAG);
-            outerRingPaint.setStyle(Paint.Style.STROKE);
-            outerRingPaint.setColor(Color.rgb(40, 117, 140));
-
-            firstSegmentPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            firstSegmentPaint.setColor(Color.WHITE);
-
-            textPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-           // typeface= Typeface.createFromAsset(getContext().getAssets(), "fonts/recharge bd.ttf");
-            textPaint.setTypeface(typeface);
-            textPaint.setColor(Color.WHITE);
-
-            filter=new EmbossMaskFilter(new float[]{10f,20,50},0f,50,7);
-
-            indicatorInnerBallPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            indicatorInnerBallPaint.setColor(Color.rgb(34, 17, 71));
-            indicatorInnerBallPaint.setMaskFilter(filter);
-
-            smallDashesPathPaint =new Paint(Paint.ANTI_ALIAS_FLAG);
-            smallDashesPathPaint.setStyle(Paint.Style.FILL);
-            smallDashesPathPaint.setStrokeWidth(/*3*/circleRatio/92.3f);
-            smallDashesPathPaint.setColor(Color.rgb(60, 117, 140));
-
-
-            bitmabPaint=new Paint(Paint.FILTER_BITMAP_FLAG);
-
-
-            indicatorRingPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            indicatorRingPaint.setColor(Color.rgb(254, 254, 255)/*rgb(17, 168, 171)*/);
-            indicatorRingPaint.setStyle(Paint.Style.FILL);
-            indicatorRingPaint.setStrokeWidth(/*3f*/circleRatio/92.3f);
-            indicatorRingPaint.setStrokeJoin(Paint.Join.ROUND);
-            indicatorRingPaint.setStrokeCap(Paint.Cap.ROUND);
-
-            indicatorRingBlurPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            indicatorRingBlurPaint.setColor(Color.rgb(254, 254, 255)/*rgb(17, 168, 171)*/);
-            indicatorRingBlurPaint.setStrokeWidth(/*10*/circleRatio/27.692f);
-            indicatorRingBlurPaint.setMaskFilter(new BlurMaskFilter(/*10*/circleRatio/27.692f, BlurMaskFilter.Blur.SOLID));
-
-
-            silverFilter =new EmbossMaskFilter(new float[]{0,-100,70},0.8f,20,5);
-
-            outerShader =new SweepGradient(0,0,new int[]{Color.rgb(23,51,71),Color.rgb(127,197,228),Color.rgb(73,139,175)},new float[] {0.2f,0.4f,0.6f});
-
-            innerBluePaint1=new Paint(Paint.ANTI_ALIAS_FLAG);
-
-            innerBluePaint1.setStyle(Paint.Style.STROKE);
-            innerBluePaint1.setStrokeWidth(/*6f*/circleRatio/46.1538f);
-            innerBluePaint1.setShader(outerShader);
-
-
-            innerShader=new SweepGradient(0,0,Color.rgb(73,139,175)/*Color.rgb(127,197,228)*/,Color.rgb(23,51,71)/*new float[] {0.2f,0.4f,0.2f}*/);
-
-
-            innerBluePaint2=new Paint(Paint.ANTI_ALIAS_FLAG);
-            innerBluePaint2.setShader(innerShader);
-
-            innerYellowPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            innerYellowPaint.setColor(Color.rgb(252, 220, 112));
-            innerYellowPaint.setStyle(Paint.Style.STROKE);
-            innerYellowPaint.setStrokeWidth(/*3f*/circleRatio/92.3f);
-            innerYellowPaint.setTextSize(/*20f*/circleRatio/13.846f);
-
-            standAloneNumberPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            standAloneNumberPaint.setTypeface(typeface);
-
-            silverPaint =new Paint(Paint.ANTI_ALIAS_FLAG);
-            silverPaint.setStyle(Paint.Style.STROKE);
-            silverPaint.setColor(Color.WHITE);
-            silverPaint.setStrokeWidth(/*10f*/circleRatio/27.692f);
-
-
-        /*silverPaint=getDefaultInnerRimPaint();*/
-
-            silverBlurPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            silverBlurPaint.setColor(Color.WHITE);
-            silverBlurPaint.setStyle(Paint.Style.STROKE);
-            silverBlurPaint.setStrokeWidth(/*15f*/circleRatio / 18.4615f);
-            silverBlurPaint.setMaskFilter(new BlurMaskFilter(/*15*/circleRatio / 18.4615f, BlurMaskFilter.Blur.SOLID));
-
-            txtPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            txtPaint.setTextSize(/*20*/circleRatio/13.846f);
-            txtPaint.setColor(Color.RED);
-
-            progressAnimationPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            progressAnimationPaint.setStyle(Paint.Style.STROKE);
-            progressAnimationPaint.setStrokeWidth(/*4f*/circleRatio / 69.2307f);
-            progressAnimationPaint.setColor(Color.RED);
-
-            progressAnimationBlurPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            progressAnimationBlurPaint.setStyle(Paint.Style.STROKE);
-            progressAnimationBlurPaint.setColor(Color.RED);
-            progressAnimationBlurPaint.setStrokeWidth(/*40f*/circleRatio / 6.923076f);
-            progressAnimationBlurPaint.setMaskFilter(new BlurMaskFilter(/*40f*/circleRatio / 6.923076f, BlurMaskFilter.Blur.NORMAL));
-
-
-
-            statusMessagePaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            statusMessagePaint.setColor(Color.YELLOW);
-            statusMessagePaint.setTextSize(/*30*/circleRatio / 9.23f);
-            statusMessagePaint.setTypeface(typeface);
-
-            antiFiberPaint=new Paint(Paint.ANTI_ALIAS_FLAG);
-            antiFiberPaint.setColor(Color.rgb(6, 11, 30));
-
-            segemntDashArcRect=new RectF();
-        }
-
-
-
-
-
-        private void drawSliverOuterCircle(Canvas canvas, Rect bounds) {
-
-
-            canvas.drawCircle(0, 0, /*circleRatio + 20*/circleRatio/0.93264f, silverBlurPaint);
-            canvas.drawCircle(0, 0, /*circleRatio + 20*/circleRatio/0.93264f, silverPaint);
-
-        }
-
-        /*private void drawStandAloneNumber(Canvas canvas, Rect bounds) {
-
-            //drawing the page stand alone path
-
-            standAloneNumberPaint.setColor(Color.rgb(254, 254, 255));
-            standAloneNumberPath.moveTo(getX(7.98, circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), 0), getY(7.98, circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), 0));
-            standAloneNumberPath.lineTo(circleRatio / 2.1433f, circleRatio / 7.124f);
-            standAloneNumberPath.arcTo(innerYellowRect, 16.49f, 23.42f);
-            standAloneNumberPath.lineTo(getX(18.29, circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), 0), getY(18.29, circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), 0));
-
-            standAloneNumberPath.arcTo(segemntDashArcRect, 7.98f, 10.31f);
-
-            canvas.drawPath(standAloneNumberPath, standAloneNumberPaint);
-            standAloneNumberPaint.setTextSize(circleRatio / 18.415f);
-
-            if (MainActivity.mainUnit==MainActivity.IMPERIAL_UNIT) {
-                unitPerHour ="MPH";
-            }else {
-                unitPerHour ="Km/h";
-            }
-            canvas.drawText(unitPerHour, circleRatio / 1.384f, circleRatio / 2.517f, standAloneNumberPaint);
-
-
-            standAloneNumberPaint.setColor(Color.rgb(6, 11, 30));
-            standAloneNumberPaint.setTextSize(circleRatio / 6.44f);
-            canvas.drawText(String.valueOf((int) oldSpeed), -correct(String.valueOf((int) oldSpeed), W, standAloneNumberPaint) + *//*300*//*circleRatio / 1.38f, circleRatio / 3.461f, standAloneNumberPaint);
-
-        *//*canvas.drawLine(300,-200,300,200,segmentPaint);*//*
-
-
-        }*/
-
-
-
-        //***************************************************************
-
-        private void drawInnerTextures(Canvas canvas, Rect bounds) {
-            //making the thin blue arc
-            innerBlueRect1.set(-circleRatio / 1.6615f, -circleRatio / 1.6615f, circleRatio / 1.6615f, circleRatio / 1.6615f);
-            innerBluePath1.rewind();
-            innerBluePath1.moveTo(circleRatio / 1.6615f, 0);
-            innerBluePath1.arcTo(innerBlueRect1, 0, -270);
-            innerBluePath1.lineTo(circleRatio / 1.294f, circleRatio / 1.6615f);
-
-            canvas.drawPath(innerBluePath1, innerBluePaint1);
-
-            //making the wide inner texture
-            innerBlueRect2_1.set(-circleRatio / 1.694f, -circleRatio / 1.694f, circleRatio / 1.694f, circleRatio / 1.694f);
-            innerBlueRect2_2.set(-circleRatio / 1.976f, -circleRatio / 1.976f, circleRatio / 1.976f, circleRatio / 1.976f);
-            segemntDashArcRect.set(-circleRatio / 1.0225f, -circleRatio / 1.0225f, circleRatio / 1.0225f, circleRatio / 1.0225f);
-            innerBluePath2.moveTo(circleRatio / 1.694f, 0);
-            innerBluePath2.arcTo(innerBlueRect2_1, 0, -270);
-            innerBluePath2.lineTo(circleRatio / 1.294f, circleRatio / 1.694f);
-            innerBluePath2.arcTo(segemntDashArcRect, 36.5f, -7.93f);
-            innerBluePath2.lineTo(circleRatio / 16.424f, circleRatio / 2.0915f);
-            innerBluePath2.lineTo(0, circleRatio / 1.976f);
-            innerBluePath2.arcTo(innerBlueRect2_2, 90, 270);
-            innerBluePath2.lineTo( circleRatio/1.694f, 0);
-
-
-            canvas.drawPath(innerBluePath2, innerBluePaint2);
-
-            //drawing the yellow texture
-
-            innerYellowRect.set(-circleRatio/2.0524f, -circleRatio/2.0524f, circleRatio/2.0524f, circleRatio/2.0524f);
-
-            innerYellowPath.moveTo(circleRatio/7.287f, 0);
-            innerYellowPath.lineTo(circleRatio/2.0524f, 0);
-            innerYellowPath.arcTo(innerYellowRect, 0, -270);
-            innerYellowPath.lineTo(circleRatio/16.424f, circleRatio/2.1908f);
-            innerYellowPath.lineTo(circleRatio/1.1519f, circleRatio/2.1908f);
-
-            canvas.drawPath(innerYellowPath,innerYellowPaint);
-
-            //making the yellow text of comulative distance
-
-
-
-
-
-
-
-
-
-
-        }
-
-//todo make altidude meter
-
-
-
-        //*************************************************************************************************
-
-        private void drawIndicator(Canvas canvas, Rect bounds) {
-
-            if (oldSpeed<newSpeed){
-                oldSpeed+=0.5;
-            }else if (oldSpeed>newSpeed){
-                oldSpeed -= 0.5;
-            }
-
-            rotationMatrix.setRotate((float) getDgree(oldSpeed));
-            indicatorCircleRec.set(-circleRatio / 8.86f, -circleRatio / 8.86f, circleRatio / 8.86f, circleRatio / 8.86f);
-            upperArcRect.set(-circleRatio / 33.6f, -circleRatio / 5.2522f, circleRatio / 33.6f, -circleRatio / 7.64f);
-
-
-            canvas.drawCircle(0, 0, circleRatio / 13.845f, indicatorInnerBallPaint);
-            indicatorRingPath.rewind();
-
-            indicatorRingPath.moveTo(-circleRatio / 22.8276f, -circleRatio / 9.6145f);
-            indicatorRingPath.lineTo(-circleRatio / 34.526f, -circleRatio / 5.9728f);
-            indicatorRingPath.addArc(upperArcRect, 193.16f, 153.68f);
-            indicatorRingPath.lineTo(circleRatio / 34.526f, -circleRatio / 5.9728f);
-            indicatorRingPath.lineTo(circleRatio / 22.8276f, -circleRatio / 9.6145f);
-            indicatorRingPath.arcTo(indicatorCircleRec, -67.31f, 128.57f);
-            indicatorRingPath.lineTo(circleRatio / 18.4231f, circleRatio / 10.1058f);
-            indicatorRingPath.lineTo(circleRatio / 52.344f, circleRatio / 1.5475f);
-            indicatorRingPath.lineTo(-circleRatio / 52.344f, circleRatio / 1.5475f);
-            indicatorRingPath.arcTo(indicatorCircleRec, 118.18f, 128.57f);
-            indicatorRingPath.addCircle(0, 0, circleRatio / 17.306f, Path.Direction.CCW);
-            indicatorRingPath.transform(rotationMatrix);
-            canvas.drawPath(indicatorRingPath, indicatorRingPaint);
-            canvas.drawPath(indicatorRingPath, indicatorRingBlurPaint);
-
-
-            //making the red line
-
-            indicatorRingPath.rewind();
-            indicatorRingPaint.setColor(Color.RED);
-            indicatorRingPaint.setMaskFilter(null);
-            indicatorRingPath.moveTo(-circleRatio / 138.45f, -circleRatio / 4.49221f);
-            indicatorRingPath.lineTo(circleRatio/138.45f, -circleRatio/4.4944f);
-            indicatorRingPath.lineTo(circleRatio/69.225f,-circleRatio/5.2078f);
-            indicatorRingPath.lineTo(circleRatio/184.6f,circleRatio/1.0365f);
-            indicatorRingPath.lineTo(-circleRatio/184.6f,circleRatio/1.0365f);
-            indicatorRingPath.lineTo(-circleRatio/69.225f,-circleRatio / 5.2078f);
-            indicatorRingPath.lineTo(-circleRatio / 138.45f, -circleRatio / 4.49221f);
-            indicatorRingPath.transform(rotationMatrix);
-            canvas.drawPath(indicatorRingPath, indicatorRingPaint);
-
-
-
-
-
-
-
-
-
-
-        }
-
-        private void drawNumbers(Canvas canvas, Rect bounds) {
-            textPaint.setTextSize(circleRatio / 8);
-            int numbers=1;
-
-            for (int i=0;i<360;i+=30){
-
-                canvas.drawText(String.valueOf(numbers), getX(i, circleRatio / 1.3f, -60) - correct(String.valueOf(numbers), W, textPaint), getY(i, circleRatio / 1.3, -60) + correct(String.valueOf(numbers), H, textPaint), textPaint);
-
-
-                numbers+=1;
-            }
-        }
-
-        private void drawSegmentDash(Canvas canvas, Rect bounds) {
-
-
-            segemntDashArcRect.set(-circleRatio, -circleRatio, circleRatio, circleRatio);
-
-            canvas.drawArc(outerRingRect, 90, 270, false, outerRingPaint);
-            segmentDashPath.moveTo(getX(85, circleRatio, 0), getY(85, circleRatio, 0));
-            segmentDashPath.arcTo(segemntDashArcRect, 85, 10);
-            segmentDashPath.lineTo(getX(93, circleRatio / SEGEMNT_HIEGHT, 0), getY(93, circleRatio / SEGEMNT_HIEGHT, 0));
-            segmentDashPath.lineTo(getX(87, circleRatio / SEGEMNT_HIEGHT, 0), getY(87, circleRatio / SEGEMNT_HIEGHT, 0));
-            segmentDashPath.close();
-
-
-            firstSegmentPaint.setColor(Color.WHITE);
-            canvas.drawPath(segmentDashPath, firstSegmentPaint);
-
-            rotationMatrix.setRotate(30);
-
-
-            for (int i=0;i<11;i++){
-                segmentDashPath.transform(rotationMatrix);
-                canvas.drawPath(segmentDashPath, segmentPaint);
-
-
-            }
-
-
-            segmentDashPath.rewind();
-
-
-
-
-
-
-
-
-
-
-
-
-        }
-
-        private void drawWhiteBorder(Canvas canvas, Rect bounds) {
-            inbetweenArcPaint.setStrokeWidth(circleRatio / 80);
-            segemntDashArcRect.set(-circleRatio + (inbetweenArcPaint.getStrokeWidth() / 2), -circleRatio + (inbetweenArcPaint.getStrokeWidth() / 2), circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2));
-
-            //the thic white border
-            inbetweenArcPath.moveTo(0, (circleRatio / SEGEMNT_HIEGHT) / 1.06f);
-            inbetweenArcPath.lineTo(0, (circleRatio / SEGEMNT_HIEGHT) / 1.019f);
-            inbetweenArcPath.lineTo((getX(93.5, circleRatio / 1.01, 0)), (circleRatio / SEGEMNT_HIEGHT) / 1.019f);
-            inbetweenArcPath.lineTo(getX(96, circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), 0), getY(96, circleRatio - (inbetweenArcPaint.getStrokeWidth() / 2), 0));
-            inbetweenArcPath.arcTo(segemntDashArcRect, 97, 17);
-            inbetweenArcPath.lineTo(getX(26.4, (circleRatio / SEGEMNT_HIEGHT) / 1.019, 90), getY(26.4, (circleRatio / SEGEMNT_HIEGHT) / 1.019, 90));
-            inbetweenArcPath.lineTo(getX(30, (circleRatio / SEGEMNT_HIEGHT) / 1.019, 90), getY(30, circleRatio / SEGEMNT_HIEGHT / 1.019, 90));
-            drawBlueOuterCircle(canvas);
-
-            smallDashPaint.setStrokeWidth(circleRatio / 180);
-
-
-            for (int i=0;i<12;i++){
-                canvas.drawPath(inbetweenArcPath, inbetweenArcPaint);
-                inbetweenArcPath.transform(rotationMatrix);
+            String message = mGauge.getMessage();
+            if (message == null || message.isEmpty()) {
+                return;
             }
-        }
-
-        private void drawSmallDashes(Canvas canvas, Rect bounds) {
-            canvas.save();
-
-            for (int i=0;i<12;i++){
-                canvas.save();
-                for (int j=0;j<4;j++){
-                    canvas.drawLine(getX(96.6, circleRatio/1.0225, 0), getY(96.6, circleRatio/1.0225 , 0),getX(96.6, circleRatio /1.0747f, 0), getY(96.6, circleRatio/1.0747f,0),smallDashPaint);
-                    canvas.rotate(5.6f);
+            if (mStatusAtlas == null || !message.equals(mStatusAtlasText)
+                    || !mStatusAtlas.matches(statusMessagePaint.getTextSize())) {
+                if (mStatusAtlas != null) {
+                    mStatusAtlas.recycle();
                 }
-                canvas.restore();
-                canvas.rotate(30);
+                mStatusAtlas = new GlyphAtlas(statusMessagePaint, "", message);
+                mStatusAtlasText = message;
             }
-            canvas.restore();
+            mStatusAtlas.drawWord(canvas, 0, -mStatusAtlas.getWordWidth(0) / 2,
+                    circleRatio / 2.2f, statusMessagePaint);
         }
 
-        private void drawBlueOuterCircle(Canvas canvas) {
-            smallDashesArcRect.set(-circleRatio / 1.0225f, -circleRatio / 1.0225f, circleRatio / 1.0225f, circleRatio / 1.0225f);
-
-            smallDashesArcPath.moveTo(getX(94.6, circleRatio / 1.0747, 0), getY(94.6, circleRatio / 1.0747, 0));
-
-            smallDashesArcPath.lineTo(getX(96.6, circleRatio / 1.0225, 0), getY(96.6, circleRatio / 1.025, 0));
-            smallDashesArcPath.arcTo(smallDashesArcRect, 96.6f, 17);
-            smallDashesArcPath.lineTo((getX(115.4, circleRatio / 1.0747, 0)), getY(115.4, circleRatio / 1.0747, 0));
-            smallDashesArcRect.set(-circleRatio / 1.0747f, -circleRatio / 1.0747f, circleRatio / 1.0747f, circleRatio / 1.0747f);
-            smallDashesArcPath.arcTo(smallDashesArcRect, 115.4f, -21.65f);
-
-            for (int i=0;i<12;i++){
-                canvas.drawPath(smallDashesArcPath,smallDashesPathPaint);
-                smallDashesArcPath.transform(rotationMatrix);
+        /**
+         * Draws the speed under the needle's pivot, on the right, with its unit below it, and
+         * the distance covered under that.
+         */
+        private void drawReadouts(Canvas canvas) {
+            DialTheme theme = mDialRenderer.getTheme();
+            float speedSize = circleRatio / 6.44f;
+            float unitSize = circleRatio / 18.415f;
+            float distanceSize = circleRatio / theme.getSize(DialTheme.ACCENT_TEXT_SIZE);
+            if (mSpeedAtlas == null || !mSpeedAtlas.matches(speedSize)
+                    || !mDistanceAtlas.matches(distanceSize)) {
+                releaseReadouts();
+                mReadoutPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+                mReadoutPaint.setTypeface(typeface);
+                mReadoutPaint.setTextSize(speedSize);
+                mSpeedAtlas = new GlyphAtlas(mReadoutPaint, "0123456789-");
+                mReadoutPaint.setTextSize(unitSize);
+                // Words in the order of SpeedGauge.UNIT_METRIC and UNIT_IMPERIAL.
+                mUnitAtlas = new GlyphAtlas(mReadoutPaint, "", "Km/h", "MPH");
+                mReadoutPaint.setTextSize(distanceSize);
+                mDistanceAtlas = new GlyphAtlas(mReadoutPaint, "0123456789.- ", "Km", "mi");
             }
-
-
+            int unit = mGauge.getUnit();
+            char[] chars = mReadoutText.chars();
+
+            mReadoutPaint.setColor(theme.getColor(DialTheme.NUMBERS));
+            mGauge.appendSpeed(mReadoutText.clear());
+            float width = mSpeedAtlas.measure(chars, 0, mReadoutText.length());
+            mSpeedAtlas.draw(canvas, chars, 0, mReadoutText.length(),
+                    circleRatio / 1.38f - width / 2, circleRatio / 3.461f, mReadoutPaint);
+            mUnitAtlas.drawWord(canvas, unit, circleRatio / 1.384f, circleRatio / 2.517f,
+                    mReadoutPaint);
+
+            mReadoutPaint.setColor(theme.getColor(DialTheme.ACCENT));
+            mGauge.appendDistance(mReadoutText.clear());
+            mReadoutText.append(' ');
+            float y = circleRatio / 1.82186f;
+            float x = mDistanceAtlas.draw(canvas, chars, 0, mReadoutText.length(),
+                    circleRatio / 1.73f, y, mReadoutPaint);
+            mDistanceAtlas.drawWord(canvas, unit, x, y, mReadoutPaint);
         }
 
-        private float correct (String number,int type,Paint paint){
-            if (type== W){
-                return  (paint.measureText(number))/2;
-            }else {
-                return (Math.abs(paint.ascent())+Math.abs(paint.descent()))/4;
+        private void releaseReadouts() {
+            if (mSpeedAtlas != null) {
+                mSpeedAtlas.recycle();
+                mUnitAtlas.recycle();
+                mDistanceAtlas.recycle();
+                mSpeedAtlas = null;
+                mUnitAtlas = null;
+                mDistanceAtlas = null;
             }
         }
 
-
-
-
-
-        protected double getDgree(double speed){
-            return (speed*270/180);
-        }
-
-
-
-
-        protected float getX(double dgre, double radius, int indexAngle){
-            return (float) (radius*(Math.cos(Math.toRadians(dgre + indexAngle))));
-        }
-
-        protected float getY(double dgre, double radius, int indexAngle) {
-            return  (float) (radius * (Math.sin(Math.toRadians(dgre + indexAngle))));
+        private int getReadoutByteCount() {
+            return mSpeedAtlas == null ? 0 : mSpeedAtlas.getByteCount()
+                    + mUnitAtlas.getByteCount() + mDistanceAtlas.getByteCount();
         }
     }
 
@@ -0,0 +1,106 @@
+package com.example.muhammadworkstation.lamboclock;
+
+/**
+ * Moves the speed needle towards its target as a critically damped spring. The spring is
+ * solved exactly for the time since the last update, so the motion is the same at any frame
+ * rate and catches up correctly after skipped frames.
+ */
+class NeedleAnimator {
+
+    /**
+     * Default stiffness in radians per second. The needle covers about 95% of a change within
+     * 400 ms and never overshoots.
+     */
+    static final float DEFAULT_FREQUENCY = 12f;
+
+    /**
+     * The needle is at rest once it is this close to the target and moving slower than this
+     * per second.
+     */
+    private static final float REST_THRESHOLD = 0.05f;
+
+    private final float mFrequency;
+
+    private float mValue;
+    private float mVelocity;
+    private float mTarget;
+    private boolean mMoving;
+    private long mLastNanos;
+
+    NeedleAnimator() {
+        this(DEFAULT_FREQUENCY);
+    }
+
+    NeedleAnimator(float frequency) {
+        mFrequency = frequency;
+    }
+
+    /**
+     * Sets the value the needle moves towards. Returns whether the needle started moving, in
+     * which case frames need to be scheduled until {@link #isMoving()} is false again.
+     */
+    boolean setTarget(float target) {
+        mTarget = target;
+        if (mMoving || target == mValue) {
+            return false;
+        }
+        mMoving = true;
+        // The time spent at rest is not part of the motion.
+        mLastNanos = 0;
+        return true;
+    }
+
+    /**
+     * Puts the needle at {@code value} without animating.
+     */
+    void jumpTo(float value) {
+        mValue = value;
+        mTarget = value;
+        mVelocity = 0;
+        mMoving = false;
+    }
+
+    /**
+     * Advances the needle to {@code nowNanos} and returns its position.
+     */
+    float update(long nowNanos) {
+        if (!mMoving) {
+            return mValue;
+        }
+        if (mLastNanos == 0) {
+            mLastNanos = nowNanos;
+            return mValue;
+        }
+        float t = (nowNanos - mLastNanos) / 1e9f;
+        mLastNanos = nowNanos;
+        if (t <= 0) {
+            return mValue;
+        }
+
+        // x(t) = target + (c1 + c2 t) e^(-wt), the critically damped solution.
+        float w = mFrequency;
+        float c1 = mValue - mTarget;
+        float c2 = mVelocity + w * c1;
+        float decay = (float) Math.exp(-w * t);
+        mValue = mTarget + (c1 + c2 * t) * decay;
+        mVelocity = (c2 - w * (c1 + c2 * t)) * decay;
+
+        if (Math.abs(mValue - mTarget) < REST_THRESHOLD
+                && Math.abs(mVelocity) < REST_THRESHOLD) {
+            jumpTo(mTarget);
+        }
+        return mValue;
+    }
+
+    float getValue() {
+        return mValue;
+    }
+
+    float getTarget() {
+        return mTarget;
+    }
+
+    boolean isMoving() {
+        return mMoving;
+    }
+}
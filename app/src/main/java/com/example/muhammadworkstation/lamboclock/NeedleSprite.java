@@ -0,0 +1,100 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+
+import com.example.muhammadworkstation.lamboclock.dial.DialRenderer;
+import com.example.muhammadworkstation.lamboclock.dial.DialTheme;
+
+/**
+ * The speed needle rendered once for one dial size and theme. The needle and its glow are kept at 0
+ * degrees and drawn with a rotation, and the hub is kept upright, so the blur and emboss
+ * filters only run when the dial is resized or the theme changes.
+ */
+class NeedleSprite {
+
+    private final int mWidth;
+    private final DialTheme mTheme;
+    private final Bitmap mNeedle;
+    private final Bitmap mHub;
+
+    /**
+     * Position of the needle's pivot in {@link #mNeedle}.
+     */
+    private final float mPivotX;
+    private final float mPivotY;
+    private final float mHubRadius;
+
+    private final Matrix mMatrix = new Matrix();
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+
+    private NeedleSprite(int width, DialTheme theme, Bitmap needle, float pivotX, float pivotY,
+            Bitmap hub, float hubRadius) {
+        mWidth = width;
+        mTheme = theme;
+        mNeedle = needle;
+        mPivotX = pivotX;
+        mPivotY = pivotY;
+        mHub = hub;
+        mHubRadius = hubRadius;
+    }
+
+    /**
+     * Renders the needle of a dial {@code width} pixels wide, in the renderer's theme.
+     */
+    static NeedleSprite render(DialRenderer renderer, AndroidDialCanvas dialCanvas, int width) {
+        // Also brings the paints back from ambient mode.
+        renderer.setSize(width);
+
+        float[] bounds = new float[4];
+        renderer.getIndicatorNeedleBounds(bounds);
+        float pivotX = (float) Math.ceil(-bounds[0]);
+        float pivotY = (float) Math.ceil(-bounds[1]);
+        Bitmap needle = Bitmap.createBitmap((int) Math.ceil(pivotX + bounds[2]),
+                (int) Math.ceil(pivotY + bounds[3]), Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(needle);
+        canvas.translate(pivotX, pivotY);
+        dialCanvas.setCanvas(canvas);
+        renderer.drawIndicatorNeedle(dialCanvas, 0);
+
+        float hubRadius = (float) Math.ceil(renderer.getIndicatorHubRadius());
+        int hubSize = (int) (hubRadius * 2);
+        Bitmap hub = Bitmap.createBitmap(hubSize, hubSize, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(hub);
+        canvas.translate(hubRadius, hubRadius);
+        dialCanvas.setCanvas(canvas);
+        renderer.drawIndicatorHub(dialCanvas);
+
+        dialCanvas.setCanvas(null);
+        return new NeedleSprite(width, renderer.getTheme(), needle, pivotX, pivotY, hub, hubRadius);
+    }
+
+    /**
+     * Returns whether this sprite was rendered for a dial {@code width} pixels wide in
+     * {@code theme}.
+     */
+    boolean matches(int width, DialTheme theme) {
+        return mWidth == width && mTheme == theme;
+    }
+
+    /**
+     * Draws the needle pointing at {@code degrees} around the origin of {@code canvas}.
+     */
+    void draw(Canvas canvas, float degrees) {
+        canvas.drawBitmap(mHub, -mHubRadius, -mHubRadius, mPaint);
+        mMatrix.setTranslate(-mPivotX, -mPivotY);
+        mMatrix.postRotate(degrees);
+        canvas.drawBitmap(mNeedle, mMatrix, mPaint);
+    }
+
+    int getByteCount() {
+        return mNeedle.getByteCount() + mHub.getByteCount();
+    }
+
+    void recycle() {
+        mNeedle.recycle();
+        mHub.recycle();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.BlurMaskFilter;
+import android.graphics.EmbossMaskFilter;
+import android.graphics.Paint;
+import android.graphics.SweepGradient;
+
+import com.example.muhammadworkstation.lamboclock.dial.DialPaint;
+
+import java.util.WeakHashMap;
+
+/**
+ * The Android {@link Paint} built for each {@link DialPaint}, kept until the description
+ * changes, so drawing the same paint every frame does not allocate. Entries go away with their
+ * {@link DialPaint}, which does not override {@code equals}.
+ *
+ * <p>The layers of a parallel render draw the renderer's paints from several threads, so one
+ * cache is shared between their canvases and lookups are synchronized. The paints themselves
+ * are not changed once built.
+ */
+class PaintCache {
+
+    private final WeakHashMap<DialPaint, CachedPaint> mPaints = new WeakHashMap<>();
+
+    /**
+     * Returns the paint for {@code dialPaint}, rebuilt if the description changed since it was
+     * last built.
+     */
+    synchronized Paint get(DialPaint dialPaint) {
+        CachedPaint cached = mPaints.get(dialPaint);
+        if (cached == null) {
+            cached = new CachedPaint();
+            mPaints.put(dialPaint, cached);
+        } else if (cached.generation == dialPaint.getGeneration()) {
+            return cached.paint;
+        }
+        cached.paint = createPaint(dialPaint);
+        cached.generation = dialPaint.getGeneration();
+        return cached.paint;
+    }
+
+    private static Paint createPaint(DialPaint dialPaint) {
+        Paint paint = new Paint(dialPaint.isAntiAlias() ? Paint.ANTI_ALIAS_FLAG : 0);
+        paint.setColor(dialPaint.getColor());
+        paint.setStyle(dialPaint.getStyle() == DialPaint.Style.STROKE
+                ? Paint.Style.STROKE : Paint.Style.FILL);
+        paint.setStrokeWidth(dialPaint.getStrokeWidth());
+        paint.setStrokeCap(Paint.Cap.valueOf(dialPaint.getStrokeCap().name()));
+        paint.setStrokeJoin(Paint.Join.valueOf(dialPaint.getStrokeJoin().name()));
+        paint.setTextSize(dialPaint.getTextSize());
+        if (dialPaint.getBlur() != null) {
+            paint.setMaskFilter(new BlurMaskFilter(dialPaint.getBlurRadius(),
+                    dialPaint.getBlur() == DialPaint.Blur.SOLID
+                            ? BlurMaskFilter.Blur.SOLID : BlurMaskFilter.Blur.NORMAL));
+        } else if (dialPaint.hasEmboss()) {
+            paint.setMaskFilter(new EmbossMaskFilter(dialPaint.getEmbossDirection(),
+                    dialPaint.getEmbossAmbient(), dialPaint.getEmbossSpecular(),
+                    dialPaint.getEmbossBlurRadius()));
+        }
+        if (dialPaint.getSweepColors() != null) {
+            paint.setShader(new SweepGradient(0, 0, dialPaint.getSweepColors(),
+                    dialPaint.getSweepPositions()));
+        }
+        return paint;
+    }
+
+    private static class CachedPaint {
+        Paint paint;
+        int generation;
+    }
+}
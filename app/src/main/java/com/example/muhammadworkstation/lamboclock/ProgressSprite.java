@@ -0,0 +1,129 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * The spinner shown in the middle of the dial while the gauge waits for a connection or a GPS
+ * fix, rendered once for one dial size as a sheet of frames in an alpha-only bitmap. Playing
+ * it back copies one frame, tinted by the paint's color, so the wide blur behind the arc only
+ * runs when the dial is resized.
+ */
+class ProgressSprite {
+
+    static final int FRAME_COUNT = 24;
+
+    /**
+     * Time for the arc to grow, shrink and go around twice, after which the frames repeat.
+     */
+    static final long CYCLE_MS = 1200;
+
+    private static final float MIN_SWEEP = 20;
+    private static final float MAX_SWEEP = 270;
+
+    private final float mCircleRatio;
+    private final Bitmap mSheet;
+    private final int mCellSize;
+    private final int mColumns;
+
+    private final Rect mSrc = new Rect();
+    private final RectF mDst = new RectF();
+
+    private ProgressSprite(float circleRatio, Bitmap sheet, int cellSize, int columns) {
+        mCircleRatio = circleRatio;
+        mSheet = sheet;
+        mCellSize = cellSize;
+        mColumns = columns;
+    }
+
+    /**
+     * Renders every frame of the spinner for the reference radius {@code circleRatio}, with
+     * {@code glowPaint} under {@code arcPaint}. Only the alpha of the paints is kept.
+     */
+    static ProgressSprite render(float circleRatio, Paint arcPaint, Paint glowPaint) {
+        float radius = circleRatio / 4f;
+        int cellSize = (int) Math.ceil(2 * (radius + glowPaint.getStrokeWidth() / 2
+                + measureGlow(glowPaint)));
+        int columns = (int) Math.ceil(Math.sqrt(FRAME_COUNT));
+        int rows = (FRAME_COUNT + columns - 1) / columns;
+        Bitmap sheet = Bitmap.createBitmap(cellSize * columns, cellSize * rows,
+                Bitmap.Config.ALPHA_8);
+
+        Canvas canvas = new Canvas(sheet);
+        RectF oval = new RectF(-radius, -radius, radius, radius);
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            double phase = i / (double) FRAME_COUNT;
+            float sweep = MIN_SWEEP + (MAX_SWEEP - MIN_SWEEP)
+                    * (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * phase));
+            float start = (float) (phase * 720) - 90;
+
+            int left = i % columns * cellSize;
+            int top = i / columns * cellSize;
+            canvas.save();
+            // Keeps each frame's glow out of its neighbors.
+            canvas.clipRect(left, top, left + cellSize, top + cellSize);
+            canvas.translate(left + cellSize / 2f, top + cellSize / 2f);
+            canvas.drawArc(oval, start, sweep, false, glowPaint);
+            canvas.drawArc(oval, start, sweep, false, arcPaint);
+            canvas.restore();
+        }
+        return new ProgressSprite(circleRatio, sheet, cellSize, columns);
+    }
+
+    /**
+     * Returns how far the mask filter of {@code paint} spreads past the edge of what it draws.
+     * {@code extractAlpha} applies the filter to a single opaque pixel and reports where the
+     * result starts relative to it.
+     */
+    static int measureGlow(Paint paint) {
+        if (paint.getMaskFilter() == null) {
+            return 0;
+        }
+        Bitmap dot = Bitmap.createBitmap(1, 1, Bitmap.Config.ALPHA_8);
+        dot.eraseColor(Color.BLACK);
+        int[] offset = new int[2];
+        Bitmap glow = dot.extractAlpha(paint, offset);
+        glow.recycle();
+        dot.recycle();
+        return Math.max(-offset[0], -offset[1]);
+    }
+
+    /**
+     * Returns whether this sprite was rendered for the reference radius {@code circleRatio}.
+     */
+    boolean matches(float circleRatio) {
+        return mCircleRatio == circleRatio;
+    }
+
+    /**
+     * Returns the frame to show {@code timeMs} into the animation.
+     */
+    static int frameAt(long timeMs) {
+        return (int) (timeMs % CYCLE_MS * FRAME_COUNT / CYCLE_MS);
+    }
+
+    /**
+     * Draws {@code frame} centered on the origin of {@code canvas}, in the color of
+     * {@code paint}.
+     */
+    void draw(Canvas canvas, int frame, Paint paint) {
+        int left = frame % mColumns * mCellSize;
+        int top = frame / mColumns * mCellSize;
+        mSrc.set(left, top, left + mCellSize, top + mCellSize);
+        float half = mCellSize / 2f;
+        mDst.set(-half, -half, half, half);
+        canvas.drawBitmap(mSheet, mSrc, mDst, paint);
+    }
+
+    int getByteCount() {
+        return mSheet.getByteCount();
+    }
+
+    void recycle() {
+        mSheet.recycle();
+    }
+}
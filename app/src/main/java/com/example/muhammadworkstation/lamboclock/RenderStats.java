@@ -0,0 +1,216 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Fixed-size latency histograms for each stage of {@code onDraw}. Recording a sample is a few
+ * array writes, so it can stay enabled on every frame.
+ */
+class RenderStats {
+
+    /**
+     * Restoring the dirty region of the frame from the minute layer.
+     */
+    static final int STAGE_BACKGROUND = 0;
+
+    /**
+     * Blitting the cached dial into the minute layer.
+     */
+    static final int STAGE_DIAL = 1;
+    static final int STAGE_HANDS = 2;
+    static final int STAGE_INDICATOR = 3;
+    static final int STAGE_TEXT = 4;
+
+    /**
+     * Copying the dirty part of the composed frame onto the surface.
+     */
+    static final int STAGE_COMPOSE = 5;
+
+    /**
+     * Copying the whole composed frame onto the surface, when the surface has to be drawn in
+     * full. Kept apart from {@link #STAGE_COMPOSE} so the two can be compared.
+     */
+    static final int STAGE_COMPOSE_FULL = 6;
+
+    /**
+     * The whole frame. Recorded by {@link #endFrame}, so it has to be the last stage.
+     */
+    static final int STAGE_FRAME = 7;
+    static final int STAGE_COUNT = 8;
+
+    private static final String[] STAGE_NAMES = {
+            "background", "dial", "hands", "indicator", "text", "compose", "composeFull",
+            "frame"};
+
+    /**
+     * Width of one histogram bucket. Samples above the last bucket go into the overflow bucket.
+     */
+    private static final long BUCKET_NANOS = 250000;
+    private static final int BUCKET_COUNT = 128;
+
+    /**
+     * A whole frame taking longer than this misses a 60 Hz vsync.
+     */
+    static final long JANK_NANOS = 16666667;
+
+    private final int[][] mBuckets = new int[STAGE_COUNT][BUCKET_COUNT + 1];
+    private final long[] mCounts = new long[STAGE_COUNT];
+    private final long[] mTotalNanos = new long[STAGE_COUNT];
+    private final long[] mMaxNanos = new long[STAGE_COUNT];
+    private long mJankFrames;
+
+    /**
+     * Pixels copied to the surface, and pixels of the surfaces they were copied to.
+     */
+    private long mPresentedPixels;
+    private long mSurfacePixels;
+
+    /**
+     * Time spent in each stage so far in the current frame, and which stages it went through.
+     */
+    private final long[] mFrameNanos = new long[STAGE_COUNT];
+    private int mFrameStages;
+
+    /**
+     * Adds {@code nanos} to the time {@code stage} has taken in the current frame. A stage can
+     * run several times in one frame; it is still recorded as a single sample.
+     */
+    void add(int stage, long nanos) {
+        mFrameNanos[stage] += nanos;
+        mFrameStages |= 1 << stage;
+    }
+
+    /**
+     * Counts {@code pixels} copied to a surface of {@code surfacePixels}.
+     */
+    void addPresented(long pixels, long surfacePixels) {
+        mPresentedPixels += pixels;
+        mSurfacePixels += surfacePixels;
+    }
+
+    /**
+     * Records one sample for each stage the current frame went through, and
+     * {@code frameNanos} for the frame itself.
+     */
+    void endFrame(long frameNanos) {
+        for (int stage = 0; stage < STAGE_FRAME; stage++) {
+            if ((mFrameStages & (1 << stage)) != 0) {
+                record(stage, mFrameNanos[stage]);
+                mFrameNanos[stage] = 0;
+            }
+        }
+        mFrameStages = 0;
+        record(STAGE_FRAME, frameNanos);
+    }
+
+    void record(int stage, long nanos) {
+        int bucket = (int) Math.min(nanos / BUCKET_NANOS, BUCKET_COUNT);
+        mBuckets[stage][bucket]++;
+        mCounts[stage]++;
+        mTotalNanos[stage] += nanos;
+        if (nanos > mMaxNanos[stage]) {
+            mMaxNanos[stage] = nanos;
+        }
+        if (stage == STAGE_FRAME && nanos > JANK_NANOS) {
+            mJankFrames++;
+        }
+    }
+
+    /**
+     * Returns the upper edge of the bucket holding the given percentile (0-100) of a stage's
+     * samples, or 0 if there are none.
+     */
+    long percentileNanos(int stage, int percentile) {
+        long count = mCounts[stage];
+        if (count == 0) {
+            return 0;
+        }
+        long target = (count * percentile + 99) / 100;
+        long seen = 0;
+        int[] buckets = mBuckets[stage];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return (i + 1) * BUCKET_NANOS;
+            }
+        }
+        return mMaxNanos[stage];
+    }
+
+    long getJankFrames() {
+        return mJankFrames;
+    }
+
+    long getFrameCount() {
+        return mCounts[STAGE_FRAME];
+    }
+
+    void reset() {
+        for (int stage = 0; stage < STAGE_COUNT; stage++) {
+            Arrays.fill(mBuckets[stage], 0);
+            mCounts[stage] = 0;
+            mTotalNanos[stage] = 0;
+            mMaxNanos[stage] = 0;
+            mFrameNanos[stage] = 0;
+        }
+        mFrameStages = 0;
+        mJankFrames = 0;
+        mPresentedPixels = 0;
+        mSurfacePixels = 0;
+    }
+
+    /**
+     * Appends a one-line p50/p99/jank summary of the whole frame to {@code out} without
+     * allocating, for the on-screen overlay.
+     */
+    void appendSummary(StringBuilder out) {
+        out.append("p50 ");
+        appendMillis(out, percentileNanos(STAGE_FRAME, 50));
+        out.append(" p99 ");
+        appendMillis(out, percentileNanos(STAGE_FRAME, 99));
+        out.append(" jank ").append(mJankFrames);
+    }
+
+    void dump(String prefix, PrintWriter out) {
+        out.print(prefix);
+        out.print("frames=");
+        out.print(getFrameCount());
+        out.print(" jank=");
+        out.print(mJankFrames);
+        out.print(" presented=");
+        out.print(mSurfacePixels == 0 ? 0 : mPresentedPixels * 100 / mSurfacePixels);
+        out.println("% of surface");
+        for (int stage = 0; stage < STAGE_COUNT; stage++) {
+            long count = mCounts[stage];
+            out.print(prefix);
+            out.print("  ");
+            out.print(STAGE_NAMES[stage]);
+            out.print(": n=");
+            out.print(count);
+            if (count > 0) {
+                out.print(" avg=");
+                out.print(toMillis(mTotalNanos[stage] / count));
+                out.print("ms p50=");
+                out.print(toMillis(percentileNanos(stage, 50)));
+                out.print("ms p90=");
+                out.print(toMillis(percentileNanos(stage, 90)));
+                out.print("ms p99=");
+                out.print(toMillis(percentileNanos(stage, 99)));
+                out.print("ms max=");
+                out.print(toMillis(mMaxNanos[stage]));
+                out.print("ms");
+            }
+            out.println();
+        }
+    }
+
+    private static float toMillis(long nanos) {
+        return nanos / 1000000f;
+    }
+
+    private static void appendMillis(StringBuilder out, long nanos) {
+        long tenths = nanos / 100000;
+        out.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
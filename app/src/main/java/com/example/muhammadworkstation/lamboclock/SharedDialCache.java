@@ -0,0 +1,101 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.graphics.Bitmap;
+
+import java.util.HashMap;
+
+/**
+ * Dial bitmaps shared by every engine of the service, so the active face and the previews
+ * reuse the same rendered variants. Dials an engine is showing are reference counted and
+ * never evicted; once no engine uses a dial it moves to a {@link DialCache}, where it stays
+ * within the byte budget for the next engine that asks for it.
+ *
+ * <p>Only used from the main thread.
+ */
+class SharedDialCache {
+
+    private static final class Entry {
+        final Bitmap bitmap;
+        int refs;
+
+        Entry(Bitmap bitmap) {
+            this.bitmap = bitmap;
+        }
+    }
+
+    private final HashMap<DialCache.Key, Entry> mInUse = new HashMap<>();
+    private final DialCache mIdle;
+    private int mInUseBytes;
+
+    SharedDialCache(int maxIdleBytes) {
+        mIdle = new DialCache(maxIdleBytes);
+    }
+
+    /**
+     * Returns the dial for {@code key} and takes a reference to it, or returns null if it is
+     * not cached. Every non-null result must be given back with {@link #release}.
+     */
+    Bitmap acquire(DialCache.Key key) {
+        Entry entry = mInUse.get(key);
+        if (entry == null) {
+            Bitmap bitmap = mIdle.remove(key);
+            if (bitmap == null) {
+                return null;
+            }
+            entry = new Entry(bitmap);
+            mInUse.put(key, entry);
+            mInUseBytes += bitmap.getByteCount();
+        }
+        entry.refs++;
+        return entry.bitmap;
+    }
+
+    /**
+     * Gives back a reference taken by {@link #acquire}.
+     */
+    void release(DialCache.Key key) {
+        Entry entry = mInUse.get(key);
+        if (entry == null) {
+            throw new IllegalStateException("Dial not acquired: " + key);
+        }
+        if (--entry.refs == 0) {
+            mInUse.remove(key);
+            mInUseBytes -= entry.bitmap.getByteCount();
+            mIdle.put(key, entry.bitmap);
+        }
+    }
+
+    /**
+     * Adds a newly rendered dial, unused until an engine acquires it.
+     */
+    void put(DialCache.Key key, Bitmap bitmap) {
+        if (!mInUse.containsKey(key)) {
+            mIdle.put(key, bitmap);
+        }
+    }
+
+    boolean contains(DialCache.Key key) {
+        return mInUse.containsKey(key) || mIdle.get(key) != null;
+    }
+
+    /**
+     * Drops every dial no engine is using.
+     */
+    void evictIdle() {
+        mIdle.evictAll();
+    }
+
+    int getInUseByteCount() {
+        return mInUseBytes;
+    }
+
+    int getIdleByteCount() {
+        return mIdle.size();
+    }
+
+    @Override
+    public String toString() {
+        return "inUse=" + mInUse.size() + " (" + mInUseBytes + " bytes) idle=" + mIdle.size()
+                + " bytes";
+    }
+}
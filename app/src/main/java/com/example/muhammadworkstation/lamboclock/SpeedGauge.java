@@ -0,0 +1,216 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import com.example.muhammadworkstation.lamboclock.dial.DigitFormatter;
+
+/**
+ * State of the speed gauge in the middle of the dial: whether it runs, whether its speed
+ * source is connected, and the needle, speed statistics and distance fed to it. Every change
+ * that shows on screen is reported to the {@link Callback}, so the engine redraws the live
+ * layer only when something in it changed.
+ *
+ * <p>Only used from the main thread.
+ */
+class SpeedGauge {
+
+    static final int CONNECTED = 0;
+    static final int CONNECTING = 1;
+    static final int CHECK_LOCATION = 2;
+
+    /**
+     * The needle turns through {@link #FULL_SCALE_DEGREES} from 0 to this speed.
+     */
+    static final float FULL_SCALE_SPEED = 180;
+    static final float FULL_SCALE_DEGREES = 270;
+
+    /**
+     * Units of the readouts, in the order of the words in their glyph atlases.
+     */
+    static final int UNIT_METRIC = 0;
+    static final int UNIT_IMPERIAL = 1;
+
+    private static final double MILES_PER_KM = 0.621371;
+
+    interface Callback {
+        /**
+         * Something drawn by the gauge changed. {@code animating} is set when the needle just
+         * started moving or the spinner was just shown or hidden, so frames have to be
+         * scheduled differently.
+         */
+        void onGaugeChanged(boolean animating);
+    }
+
+    private final Callback mCallback;
+
+    /**
+     * Position of the speed needle, in the same units as the speed.
+     */
+    private final NeedleAnimator mNeedle = new NeedleAnimator();
+
+    /**
+     * Recent speeds fed to the gauge, for the average and top speed readouts.
+     */
+    private final SpeedSamples mSpeedSamples = new SpeedSamples();
+
+    private boolean mRunning;
+    private int mStatus = CONNECTING;
+    private String mMessage;
+    private double mDistanceKm;
+    private boolean mImperialUnits;
+
+    SpeedGauge(Callback callback) {
+        mCallback = callback;
+    }
+
+    /**
+     * Shows the gauge until {@link #stop}. The needle, the samples and the distance carry
+     * over from the last time it ran.
+     */
+    void start() {
+        if (mRunning) {
+            return;
+        }
+        mRunning = true;
+        mCallback.onGaugeChanged(true);
+    }
+
+    void stop() {
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        mCallback.onGaugeChanged(true);
+    }
+
+    /**
+     * Sets the connection state of the gauge, one of {@link #CONNECTED}, {@link #CONNECTING}
+     * and {@link #CHECK_LOCATION}, and the message shown under the spinner until it is
+     * connected.
+     */
+    void setStatus(int status, String message) {
+        if (status == mStatus && (message == null ? mMessage == null
+                : message.equals(mMessage))) {
+            return;
+        }
+        boolean progressChanged = (status == CONNECTED) != (mStatus == CONNECTED);
+        mStatus = status;
+        mMessage = message;
+        if (mRunning) {
+            mCallback.onGaugeChanged(progressChanged);
+        }
+    }
+
+    /**
+     * Sets the speed the needle moves towards and records it for the speed statistics.
+     */
+    void setSpeed(float speed) {
+        mSpeedSamples.add(speed);
+        if (mNeedle.setTarget(speed) && mRunning) {
+            // A needle already on its way is redrawn every frame until it settles.
+            mCallback.onGaugeChanged(true);
+        }
+    }
+
+    /**
+     * Sets the distance covered, in kilometers, for the distance readout.
+     */
+    void setDistance(double km) {
+        if (km != mDistanceKm) {
+            mDistanceKm = km;
+            if (mRunning) {
+                mCallback.onGaugeChanged(false);
+            }
+        }
+    }
+
+    /**
+     * Shows the readouts in miles instead of kilometers.
+     */
+    void setImperialUnits(boolean imperial) {
+        if (imperial != mImperialUnits) {
+            mImperialUnits = imperial;
+            if (mRunning) {
+                mCallback.onGaugeChanged(false);
+            }
+        }
+    }
+
+    boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Returns whether the gauge waits for its connection, in which case the spinner and the
+     * status message are shown instead of the needle.
+     */
+    boolean isShowingProgress() {
+        return mRunning && mStatus != CONNECTED;
+    }
+
+    /**
+     * Returns whether the needle is drawn, which it is once the source is connected.
+     */
+    boolean isShowingNeedle() {
+        return mRunning && mStatus == CONNECTED;
+    }
+
+    /**
+     * Returns the angle to draw the needle at, for where it is now rather than the speed it
+     * is heading for.
+     */
+    float getNeedleDegrees() {
+        return mNeedle.getValue() * FULL_SCALE_DEGREES / FULL_SCALE_SPEED;
+    }
+
+    /**
+     * Returns whether the needle is still on its way to the last speed.
+     */
+    boolean isNeedleMoving() {
+        return mRunning && mNeedle.isMoving();
+    }
+
+    int getStatus() {
+        return mStatus;
+    }
+
+    String getMessage() {
+        return mMessage;
+    }
+
+    NeedleAnimator getNeedle() {
+        return mNeedle;
+    }
+
+    SpeedSamples getSpeedSamples() {
+        return mSpeedSamples;
+    }
+
+    double getDistanceKm() {
+        return mDistanceKm;
+    }
+
+    boolean isImperialUnits() {
+        return mImperialUnits;
+    }
+
+    /**
+     * Returns {@link #UNIT_METRIC} or {@link #UNIT_IMPERIAL}.
+     */
+    int getUnit() {
+        return mImperialUnits ? UNIT_IMPERIAL : UNIT_METRIC;
+    }
+
+    /**
+     * Appends the speed the needle shows, in whole km/h or mph, to {@code out}.
+     */
+    void appendSpeed(DigitFormatter out) {
+        float speed = mNeedle.getValue();
+        out.appendInt((int) (mImperialUnits ? speed * MILES_PER_KM : speed));
+    }
+
+    /**
+     * Appends the distance covered, in kilometers or miles to one decimal, to {@code out}.
+     */
+    void appendDistance(DigitFormatter out) {
+        out.appendDecimal(mImperialUnits ? mDistanceKm * MILES_PER_KM : mDistanceKm, 1, '.');
+    }
+}
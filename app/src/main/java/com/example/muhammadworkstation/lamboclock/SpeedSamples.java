@@ -0,0 +1,161 @@
+package com.example.muhammadworkstation.lamboclock;
+
+/**
+ * The most recent speed samples in a fixed size ring of floats, with the mean, minimum,
+ * maximum and number of zero samples kept up to date as samples are added. Adding a sample
+ * takes constant amortized time and never allocates.
+ */
+class SpeedSamples {
+
+    /**
+     * Default capacity: ten minutes of samples at 1 Hz.
+     */
+    static final int DEFAULT_CAPACITY = 600;
+
+    private final float[] mSamples;
+
+    /**
+     * Sequence numbers of the samples that can still become the minimum or maximum, oldest
+     * first, as ring buffers of the same capacity as {@link #mSamples}. The values they point
+     * at are increasing in {@link #mMinQueue} and decreasing in {@link #mMaxQueue}.
+     */
+    private final long[] mMinQueue;
+    private final long[] mMaxQueue;
+    private int mMinHead;
+    private int mMinSize;
+    private int mMaxHead;
+    private int mMaxSize;
+
+    /**
+     * Sequence number of the next sample. Sample {@code n} lives at
+     * {@code mSamples[n % capacity]}.
+     */
+    private long mNext;
+    private int mSize;
+    private int mZeroCount;
+    private double mSum;
+
+    SpeedSamples() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    SpeedSamples(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        mSamples = new float[capacity];
+        mMinQueue = new long[capacity];
+        mMaxQueue = new long[capacity];
+    }
+
+    void add(float speed) {
+        int capacity = mSamples.length;
+        if (mSize == capacity) {
+            long oldest = mNext - capacity;
+            float evicted = mSamples[(int) (oldest % capacity)];
+            mSum -= evicted;
+            if (evicted == 0) {
+                mZeroCount--;
+            }
+            if (mMinSize > 0 && mMinQueue[mMinHead] == oldest) {
+                mMinHead = (mMinHead + 1) % capacity;
+                mMinSize--;
+            }
+            if (mMaxSize > 0 && mMaxQueue[mMaxHead] == oldest) {
+                mMaxHead = (mMaxHead + 1) % capacity;
+                mMaxSize--;
+            }
+        } else {
+            mSize++;
+        }
+
+        mSamples[(int) (mNext % capacity)] = speed;
+        mSum += speed;
+        if (speed == 0) {
+            mZeroCount++;
+        }
+        while (mMinSize > 0 && valueAt(mMinQueue, mMinHead, mMinSize - 1) >= speed) {
+            mMinSize--;
+        }
+        mMinQueue[(mMinHead + mMinSize++) % capacity] = mNext;
+        while (mMaxSize > 0 && valueAt(mMaxQueue, mMaxHead, mMaxSize - 1) <= speed) {
+            mMaxSize--;
+        }
+        mMaxQueue[(mMaxHead + mMaxSize++) % capacity] = mNext;
+        mNext++;
+
+        // Recompute the sum once per lap so rounding errors from the running updates cannot
+        // build up over a long drive.
+        if (mNext % capacity == 0) {
+            mSum = 0;
+            for (int i = 0; i < mSize; i++) {
+                mSum += mSamples[i];
+            }
+        }
+    }
+
+    private float valueAt(long[] queue, int head, int index) {
+        return mSamples[(int) (queue[(head + index) % queue.length] % mSamples.length)];
+    }
+
+    void clear() {
+        mNext = 0;
+        mSize = 0;
+        mZeroCount = 0;
+        mSum = 0;
+        mMinHead = 0;
+        mMinSize = 0;
+        mMaxHead = 0;
+        mMaxSize = 0;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    int getCapacity() {
+        return mSamples.length;
+    }
+
+    /**
+     * The number of samples where the speed was zero.
+     */
+    int getZeroCount() {
+        return mZeroCount;
+    }
+
+    /**
+     * Mean of all samples, or 0 when there are none.
+     */
+    float getMean() {
+        return mSize == 0 ? 0 : (float) (mSum / mSize);
+    }
+
+    /**
+     * Mean of the samples where the speed was not zero, or 0 when there are none.
+     */
+    float getMovingMean() {
+        int moving = mSize - mZeroCount;
+        return moving == 0 ? 0 : (float) (mSum / moving);
+    }
+
+    /**
+     * Smallest sample, or 0 when there are none.
+     */
+    float getMin() {
+        return mMinSize == 0 ? 0 : valueAt(mMinQueue, mMinHead, 0);
+    }
+
+    /**
+     * Largest sample, or 0 when there are none.
+     */
+    float getMax() {
+        return mMaxSize == 0 ? 0 : valueAt(mMaxQueue, mMaxHead, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + mSize + " mean=" + getMean() + " moving=" + getMovingMean()
+                + " min=" + getMin() + " max=" + getMax() + " zeros=" + mZeroCount;
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import android.os.Handler;
+
+import java.io.PrintWriter;
+
+/**
+ * Fires once on each boundary of a wall-clock period, such as every whole second, and checks
+ * that the frame it asks for shows the period it was meant to.
+ *
+ * <p>Handler messages arrive late on a loaded device, so each tick is posted early by the
+ * average lateness seen so far. A tick that arrives before its boundary fires anyway, and its
+ * frame is drawn for the boundary rather than for the current time (see {@link #onFrame}), so
+ * the second hand lands on the new second without the handler's delay. Every frame a tick
+ * asks for is checked against the period before it: a gap of more than one is a skipped
+ * second, no gap a repeated one.
+ *
+ * <p>Only used from the main thread.
+ */
+class TickTimer {
+
+    interface Callback {
+        void onTick();
+    }
+
+    /**
+     * Weight of each new lateness sample in the running average, as a shift: 1/8.
+     */
+    private static final int LATENESS_SHIFT = 3;
+
+    /**
+     * The most a tick is ever posted ahead of its boundary.
+     */
+    private static final long MAX_LEAD_MS = 50;
+
+    private static final int BUCKET_MS = 1;
+    private static final int BUCKET_COUNT = 64;
+
+    private final Handler mHandler;
+    private final Callback mCallback;
+    private final Runnable mFire = new Runnable() {
+        @Override
+        public void run() {
+            fire();
+        }
+    };
+
+    private long mPeriodMs;
+
+    /**
+     * The boundary the posted tick is for, or 0 if none is posted.
+     */
+    private long mTargetMs;
+
+    /**
+     * When the posted tick was asked to run.
+     */
+    private long mPostedForMs;
+
+    /**
+     * The boundary of the tick that fired and whose frame has not been drawn yet, or 0.
+     */
+    private long mFiredTargetMs;
+
+    /**
+     * Period of the tick that fired, which may differ from {@link #mPeriodMs} if it was
+     * rescheduled before its frame.
+     */
+    private long mFiredPeriodMs;
+
+    /**
+     * The boundary the last early tick frame showed. Frames until then show it too, so the
+     * second hand never steps back to the second before.
+     */
+    private long mShownAheadMs;
+
+    /**
+     * Period of the last frame drawn by a tick, or -1 after {@link #cancel}.
+     */
+    private long mLastDrawnPeriod = -1;
+
+    /**
+     * Running average of how late the handler delivers ticks, in 1/8 ms.
+     */
+    private long mAverageLatenessEighths;
+
+    /**
+     * How late tick frames were drawn after their boundary.
+     */
+    private final int[] mBuckets = new int[BUCKET_COUNT + 1];
+    private long mDrawnTicks;
+    private long mTotalDrawLatenessMs;
+    private long mMaxDrawLatenessMs;
+
+    private long mEarlyTicks;
+    private long mSkippedPeriods;
+    private long mRepeatedPeriods;
+    private long mClockJumps;
+
+    TickTimer(Handler handler, Callback callback) {
+        mHandler = handler;
+        mCallback = callback;
+    }
+
+    /**
+     * Posts a tick for the next boundary of {@code periodMs} after now, unless one is already
+     * posted for it.
+     */
+    void schedule(long periodMs) {
+        long nowMs = System.currentTimeMillis();
+        long targetMs = nowMs - nowMs % periodMs + periodMs;
+        if (targetMs == mTargetMs && periodMs == mPeriodMs) {
+            return;
+        }
+        if (periodMs != mPeriodMs) {
+            mLastDrawnPeriod = -1;
+        }
+        mPeriodMs = periodMs;
+        mTargetMs = targetMs;
+        post(nowMs, targetMs - nowMs - getLeadMs());
+    }
+
+    void cancel() {
+        mHandler.removeCallbacks(mFire);
+        mTargetMs = 0;
+        mFiredTargetMs = 0;
+        // Seconds missed while stopped are not skipped.
+        mLastDrawnPeriod = -1;
+    }
+
+    /**
+     * Returns how far ahead of its boundary the next tick is posted.
+     */
+    long getLeadMs() {
+        return Math.min(mAverageLatenessEighths >> LATENESS_SHIFT, MAX_LEAD_MS);
+    }
+
+    private void post(long nowMs, long delayMs) {
+        mHandler.removeCallbacks(mFire);
+        delayMs = Math.max(0, delayMs);
+        mPostedForMs = nowMs + delayMs;
+        mHandler.postDelayed(mFire, delayMs);
+    }
+
+    private void fire() {
+        long nowMs = System.currentTimeMillis();
+        long latenessMs = nowMs - mPostedForMs;
+        if (latenessMs >= 0 && latenessMs < mPeriodMs) {
+            mAverageLatenessEighths += latenessMs - (mAverageLatenessEighths >> LATENESS_SHIFT);
+        }
+        mFiredTargetMs = mTargetMs;
+        mFiredPeriodMs = mPeriodMs;
+        mTargetMs = 0;
+        mCallback.onTick();
+    }
+
+    /**
+     * Called at the start of every frame with the current time. Returns the time the frame
+     * shows: the boundary of the last tick if that is still ahead, which is at most the lead
+     * away, and {@code nowMs} otherwise. Checks the frame against the tick, if
+     * any.
+     */
+    long onFrame(long nowMs) {
+        long targetMs = mFiredTargetMs;
+        if (targetMs == 0) {
+            return Math.max(nowMs, mShownAheadMs);
+        }
+        mFiredTargetMs = 0;
+        long periodMs = mFiredPeriodMs;
+        long latenessMs = nowMs - targetMs;
+        if (latenessMs < -MAX_LEAD_MS || latenessMs >= periodMs) {
+            // The wall clock was set; neither the lateness nor the gap means anything.
+            mClockJumps++;
+            mLastDrawnPeriod = -1;
+            return nowMs;
+        }
+        long frameMs = nowMs;
+        if (latenessMs < 0) {
+            // Fired ahead of the boundary by the lead; the frame shows the boundary.
+            mEarlyTicks++;
+            frameMs = targetMs;
+            mShownAheadMs = targetMs;
+            latenessMs = 0;
+        }
+        mBuckets[(int) Math.min(latenessMs / BUCKET_MS, BUCKET_COUNT)]++;
+        mDrawnTicks++;
+        mTotalDrawLatenessMs += latenessMs;
+        mMaxDrawLatenessMs = Math.max(mMaxDrawLatenessMs, latenessMs);
+
+        long period = frameMs / periodMs;
+        if (mLastDrawnPeriod >= 0) {
+            long gap = period - mLastDrawnPeriod;
+            if (gap == 0) {
+                mRepeatedPeriods++;
+            } else if (gap > 1) {
+                mSkippedPeriods += gap - 1;
+            }
+        }
+        mLastDrawnPeriod = period;
+        return frameMs;
+    }
+
+    /**
+     * Returns the upper edge of the bucket holding the given percentile (0-100) of the draw
+     * lateness, or 0 if no tick was drawn.
+     */
+    long percentileMs(int percentile) {
+        if (mDrawnTicks == 0) {
+            return 0;
+        }
+        long target = (mDrawnTicks * percentile + 99) / 100;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += mBuckets[i];
+            if (seen >= target) {
+                return (i + 1) * BUCKET_MS;
+            }
+        }
+        return mMaxDrawLatenessMs;
+    }
+
+    void dump(String prefix, PrintWriter out) {
+        out.print(prefix);
+        out.print("ticks=");
+        out.print(mDrawnTicks);
+        out.print(" skipped=");
+        out.print(mSkippedPeriods);
+        out.print(" repeated=");
+        out.print(mRepeatedPeriods);
+        out.print(" early=");
+        out.print(mEarlyTicks);
+        out.print(" clockJumps=");
+        out.print(mClockJumps);
+        out.print(" lead=");
+        out.print(getLeadMs());
+        out.println("ms");
+        if (mDrawnTicks > 0) {
+            out.print(prefix);
+            out.print("  drawn late: avg=");
+            out.print(mTotalDrawLatenessMs / mDrawnTicks);
+            out.print("ms p50=");
+            out.print(percentileMs(50));
+            out.print("ms p90=");
+            out.print(percentileMs(90));
+            out.print("ms p99=");
+            out.print(percentileMs(99));
+            out.print("ms max=");
+            out.print(mMaxDrawLatenessMs);
+            out.println("ms");
+        }
+    }
+}
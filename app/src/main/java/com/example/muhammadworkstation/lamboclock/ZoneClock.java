@@ -0,0 +1,137 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import java.util.TimeZone;
+
+/**
+ * Wall clock time for the hands. The zone offset is looked up once and kept until the next
+ * offset change of the zone, so each update only splits the local time of day with integer
+ * arithmetic.
+ */
+class ZoneClock {
+
+    private static final long SECOND_MILLIS = 1000;
+    private static final long MINUTE_MILLIS = 60 * SECOND_MILLIS;
+    private static final long HOUR_MILLIS = 60 * MINUTE_MILLIS;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    /**
+     * Step used when probing for the next offset change. Zones don't change their offset twice
+     * within this.
+     */
+    private static final long PROBE_STEP_MILLIS = 7 * DAY_MILLIS;
+
+    /**
+     * How far ahead to probe. If the offset doesn't change before then, the zone is looked up
+     * again once this has passed.
+     */
+    private static final long PROBE_HORIZON_MILLIS = 366 * DAY_MILLIS;
+
+    private TimeZone mZone;
+    private int mOffsetMillis;
+    private long mResolvedMillis;
+    private long mNextTransitionMillis;
+
+    private int mHour;
+    private int mMinute;
+    private int mSecond;
+    private int mMillis;
+
+    ZoneClock() {
+        setTimeZone(TimeZone.getDefault());
+    }
+
+    /**
+     * Switches to {@code zone} and updates the time to now.
+     */
+    void setTimeZone(TimeZone zone) {
+        mZone = zone;
+        // Force the offset to be looked up again.
+        mNextTransitionMillis = Long.MIN_VALUE;
+        setToNow();
+    }
+
+    TimeZone getTimeZone() {
+        return mZone;
+    }
+
+    void setToNow() {
+        set(System.currentTimeMillis());
+    }
+
+    void set(long millis) {
+        if (millis >= mNextTransitionMillis || millis < mResolvedMillis) {
+            resolveOffset(millis);
+        }
+        long dayMillis = (millis + mOffsetMillis) % DAY_MILLIS;
+        if (dayMillis < 0) {
+            dayMillis += DAY_MILLIS;
+        }
+        int day = (int) dayMillis;
+        mHour = day / (int) HOUR_MILLIS;
+        mMinute = day / (int) MINUTE_MILLIS % 60;
+        mSecond = day / (int) SECOND_MILLIS % 60;
+        mMillis = day % (int) SECOND_MILLIS;
+    }
+
+    /**
+     * Hour of the day, 0 to 23.
+     */
+    int getHour() {
+        return mHour;
+    }
+
+    int getMinute() {
+        return mMinute;
+    }
+
+    int getSecond() {
+        return mSecond;
+    }
+
+    int getMillis() {
+        return mMillis;
+    }
+
+    /**
+     * The instant the cached offset stops being valid.
+     */
+    long getNextTransitionMillis() {
+        return mNextTransitionMillis;
+    }
+
+    private void resolveOffset(long millis) {
+        mOffsetMillis = mZone.getOffset(millis);
+        mResolvedMillis = millis;
+        mNextTransitionMillis = findNextTransition(millis, mOffsetMillis);
+    }
+
+    /**
+     * Probes forward from {@code millis} in weekly steps until the offset differs from
+     * {@code offset}, then narrows down to the exact millisecond.
+     */
+    private long findNextTransition(long millis, int offset) {
+        long from = millis;
+        long horizon = millis + PROBE_HORIZON_MILLIS;
+        while (from < horizon) {
+            long to = Math.min(from + PROBE_STEP_MILLIS, horizon);
+            if (mZone.getOffset(to) != offset) {
+                while (to - from > 1) {
+                    long mid = from + (to - from) / 2;
+                    if (mZone.getOffset(mid) == offset) {
+                        from = mid;
+                    } else {
+                        to = mid;
+                    }
+                }
+                return to;
+            }
+            from = to;
+        }
+        return horizon;
+    }
+
+    @Override
+    public String toString() {
+        return mZone.getID() + " offset=" + mOffsetMillis + " next=" + mNextTransitionMillis;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DialCacheKeyTest {
+
+    @Test
+    public void fileNamesDifferExactlyWhenKeysDo() {
+        Set<DialCache.Key> keys = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        int[] sizes = {320, 400};
+        for (int width : sizes) {
+            for (int height : sizes) {
+                for (int theme = 0; theme < 2; theme++) {
+                    for (int flags = 0; flags < 4; flags++) {
+                        DialCache.Key key = new DialCache.Key(width, height, theme,
+                                (flags & 1) != 0, (flags & 2) != 0);
+                        assertTrue(keys.add(key));
+                        assertTrue(key.getFileName(), names.add(key.getFileName()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void equalKeysShareAFile() {
+        DialCache.Key a = new DialCache.Key(320, 320, 1, true, false);
+        DialCache.Key b = new DialCache.Key(320, 320, 1, true, false);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a.getFileName(), b.getFileName());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProgressSpriteTest {
+
+    @Test
+    public void framesAdvanceEvenlyAndRepeatEachCycle() {
+        long frameMs = ProgressSprite.CYCLE_MS / ProgressSprite.FRAME_COUNT;
+        for (int i = 0; i < ProgressSprite.FRAME_COUNT; i++) {
+            assertEquals(i, ProgressSprite.frameAt(i * frameMs));
+            assertEquals(i, ProgressSprite.frameAt(ProgressSprite.CYCLE_MS * 7 + i * frameMs));
+        }
+        assertEquals(0, ProgressSprite.frameAt(ProgressSprite.CYCLE_MS));
+    }
+
+    @Test
+    public void frameStaysOnSheet() {
+        for (long t = 0; t < 3 * ProgressSprite.CYCLE_MS; t += 7) {
+            int frame = ProgressSprite.frameAt(t);
+            assertTrue(frame >= 0 && frame < ProgressSprite.FRAME_COUNT);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.muhammadworkstation.lamboclock;
+
+import com.example.muhammadworkstation.lamboclock.dial.DigitFormatter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SpeedGaugeTest {
+
+    private int mChanges;
+    private int mAnimationChanges;
+    private SpeedGauge mGauge;
+
+    @Before
+    public void setUp() {
+        mGauge = new SpeedGauge(new SpeedGauge.Callback() {
+            @Override
+            public void onGaugeChanged(boolean animating) {
+                mChanges++;
+                if (animating) {
+                    mAnimationChanges++;
+                }
+            }
+        });
+    }
+
+    @Test
+    public void startAndStopReschedule() {
+        mGauge.start();
+        assertTrue(mGauge.isRunning());
+        assertEquals(1, mAnimationChanges);
+
+        mGauge.start();
+        assertEquals(1, mChanges);
+
+        mGauge.stop();
+        assertFalse(mGauge.isRunning());
+        assertEquals(2, mAnimationChanges);
+    }
+
+    @Test
+    public void newSpeedMovesNeedleAndRedraws() {
+        mGauge.start();
+        mGauge.setStatus(SpeedGauge.CONNECTED, null);
+        mChanges = 0;
+        mAnimationChanges = 0;
+
+        mGauge.setSpeed(80);
+
+        assertEquals(80, mGauge.getNeedle().getTarget(), 0);
+        assertTrue(mGauge.isNeedleMoving());
+        assertEquals(1, mChanges);
+        assertEquals(1, mAnimationChanges);
+        assertEquals(1, mGauge.getSpeedSamples().size());
+    }
+
+    @Test
+    public void speedWhileNeedleMovesOnlyRetargets() {
+        mGauge.start();
+        mGauge.setSpeed(80);
+        mChanges = 0;
+
+        mGauge.setSpeed(90);
+
+        assertEquals(90, mGauge.getNeedle().getTarget(), 0);
+        assertEquals(0, mChanges);
+    }
+
+    @Test
+    public void sameSpeedDoesNotRedraw() {
+        mGauge.start();
+        mChanges = 0;
+
+        mGauge.setSpeed(0);
+
+        assertFalse(mGauge.isNeedleMoving());
+        assertEquals(0, mChanges);
+        assertEquals(1, mGauge.getSpeedSamples().size());
+    }
+
+    @Test
+    public void stoppedGaugeRecordsWithoutRedrawing() {
+        mGauge.setSpeed(50);
+        mGauge.setDistance(1.5);
+        mGauge.setStatus(SpeedGauge.CONNECTED, null);
+
+        assertEquals(0, mChanges);
+        assertFalse(mGauge.isNeedleMoving());
+
+        // The needle picks up where the speed went while it was hidden.
+        mGauge.start();
+        assertTrue(mGauge.isNeedleMoving());
+        assertEquals(1.5, mGauge.getDistanceKm(), 0);
+    }
+
+    @Test
+    public void distanceAndUnitsRedrawWithoutAnimating() {
+        mGauge.start();
+        mChanges = 0;
+        mAnimationChanges = 0;
+
+        mGauge.setDistance(2);
+        mGauge.setDistance(2);
+        mGauge.setImperialUnits(true);
+
+        assertEquals(2, mChanges);
+        assertEquals(0, mAnimationChanges);
+    }
+
+    @Test
+    public void connectedGaugeShowsNeedle() {
+        mGauge.start();
+        assertTrue(mGauge.isShowingProgress());
+        assertFalse(mGauge.isShowingNeedle());
+
+        mGauge.setStatus(SpeedGauge.CONNECTED, null);
+
+        assertTrue(mGauge.isShowingNeedle());
+        assertFalse(mGauge.isShowingProgress());
+        // The spinner's frames are no longer needed.
+        assertEquals(2, mAnimationChanges);
+    }
+
+    @Test
+    public void needleAngleFollowsAnimatedValue() {
+        mGauge.start();
+        mGauge.setStatus(SpeedGauge.CONNECTED, null);
+        mGauge.setSpeed(SpeedGauge.FULL_SCALE_SPEED);
+        NeedleAnimator needle = mGauge.getNeedle();
+
+        // Still at rest until the first frame has timed the motion.
+        needle.update(1000000000L);
+        assertEquals(0, mGauge.getNeedleDegrees(), 0);
+
+        needle.update(1100000000L);
+        float degrees = mGauge.getNeedleDegrees();
+        assertTrue(degrees > 0 && degrees < SpeedGauge.FULL_SCALE_DEGREES);
+        assertEquals(needle.getValue() * SpeedGauge.FULL_SCALE_DEGREES
+                / SpeedGauge.FULL_SCALE_SPEED, degrees, 1e-4);
+
+        needle.update(3000000000L);
+        assertFalse(mGauge.isNeedleMoving());
+        assertEquals(SpeedGauge.FULL_SCALE_DEGREES, mGauge.getNeedleDegrees(), 0);
+    }
+
+    @Test
+    public void readoutsFormatSpeedAndDistance() {
+        DigitFormatter out = new DigitFormatter(16);
+        mGauge.getNeedle().jumpTo(87.6f);
+        mGauge.setDistance(12.34);
+
+        mGauge.appendSpeed(out.clear());
+        assertEquals("87", out.toString());
+        mGauge.appendDistance(out.clear());
+        assertEquals("12.3", out.toString());
+        assertEquals(SpeedGauge.UNIT_METRIC, mGauge.getUnit());
+    }
+
+    @Test
+    public void imperialReadoutsConvertSpeedAndDistance() {
+        DigitFormatter out = new DigitFormatter(16);
+        char[] chars = out.chars();
+        mGauge.getNeedle().jumpTo(100);
+        mGauge.setDistance(10);
+        mGauge.setImperialUnits(true);
+
+        mGauge.appendSpeed(out.clear());
+        assertEquals("62", out.toString());
+        mGauge.appendDistance(out.clear());
+        assertEquals("6.2", out.toString());
+        assertEquals(SpeedGauge.UNIT_IMPERIAL, mGauge.getUnit());
+        // Every frame formats into the same buffer.
+        assertSame(chars, out.chars());
+    }
+
+    @Test
+    public void waitingGaugeShowsSpinnerWithMessage() {
+        mGauge.start();
+        mGauge.setStatus(SpeedGauge.CHECK_LOCATION, "Turn on location");
+        mChanges = 0;
+        mAnimationChanges = 0;
+
+        mGauge.setStatus(SpeedGauge.CONNECTING, "Searching GPS");
+
+        assertTrue(mGauge.isShowingProgress());
+        assertEquals("Searching GPS", mGauge.getMessage());
+        // The spinner keeps running, only the message is redrawn.
+        assertEquals(1, mChanges);
+        assertEquals(0, mAnimationChanges);
+
+        mGauge.setStatus(SpeedGauge.CONNECTING, "Searching GPS");
+        assertEquals(1, mChanges);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+
+/**
+ * {@link DialCanvas} that builds real paths but rasterizes nothing, so the benchmarks measure
+ * the dial's geometry rather than the Java2D rasterizer. Every draw call walks its path and
+ * hands the coordinates to a {@link Blackhole} so none of the work can be optimized away.
+ * Text is measured with a {@link Java2DCanvas}, as the dial needs the metrics to place the
+ * numbers.
+ */
+class BlackholeCanvas implements DialCanvas {
+
+    private final Blackhole mBlackhole;
+    private final Java2DCanvas mMetrics =
+            new Java2DCanvas(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+    private final float[] mCoords = new float[6];
+
+    BlackholeCanvas(Blackhole blackhole) {
+        mBlackhole = blackhole;
+    }
+
+    @Override
+    public DialPath newPath() {
+        return new Java2DPath();
+    }
+
+    @Override
+    public void drawColor(int color) {
+        mBlackhole.consume(color);
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, DialPaint paint) {
+        mBlackhole.consume(cx + cy + radius);
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle, DialPaint paint) {
+        mBlackhole.consume(left + top + right + bottom + startAngle + sweepAngle);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY,
+            DialPaint paint) {
+        mBlackhole.consume(startX + startY + stopX + stopY);
+    }
+
+    @Override
+    public void drawLines(float[] points, int offset, int count, DialPaint paint) {
+        for (int i = offset; i + 3 < offset + count; i += 4) {
+            mBlackhole.consume(points[i] + points[i + 1] + points[i + 2] + points[i + 3]);
+        }
+    }
+
+    @Override
+    public void drawPath(DialPath path, DialPaint paint) {
+        Path2D.Float shape = ((Java2DPath) path).mPath;
+        for (PathIterator it = shape.getPathIterator(null); !it.isDone(); it.next()) {
+            mBlackhole.consume(it.currentSegment(mCoords));
+            mBlackhole.consume(mCoords[0] + mCoords[1]);
+        }
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, DialPaint paint) {
+        mBlackhole.consume(text);
+        mBlackhole.consume(x + y);
+    }
+
+    @Override
+    public float measureText(String text, DialPaint paint) {
+        return mMetrics.measureText(text, paint);
+    }
+
+    @Override
+    public float ascent(DialPaint paint) {
+        return mMetrics.ascent(paint);
+    }
+
+    @Override
+    public float descent(DialPaint paint) {
+        return mMetrics.descent(paint);
+    }
+
+    @Override
+    public void save() {
+    }
+
+    @Override
+    public void restore() {
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        mBlackhole.consume(dx + dy);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to render the full color dial from nothing, as on a dial cache miss: a new renderer
+ * and a new image each time, drawn serially or with {@link ParallelDialRenderer}. Compare the
+ * two on a machine with several cores.
+ *
+ * <p>This draws with Java2D on the JVM, not with Android's Skia on a watch, so it compares
+ * the two strategies rather than predicting on-device times. Layer bitmaps, paint building
+ * and the core count all behave differently there.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColdRenderBenchmark {
+
+    @Param({"320", "400", "480"})
+    public int size;
+
+    /**
+     * Threads for the parallel render.
+     */
+    @Param({"2", "4"})
+    public int threads;
+
+    private DialRenderer mParallelDialRenderer;
+    private ParallelDialRenderer mParallelRenderer;
+
+    @Setup
+    public void setUp() {
+        mParallelDialRenderer = new DialRenderer();
+        mParallelRenderer = new ParallelDialRenderer(mParallelDialRenderer, new Java2DLayers(),
+                threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mParallelRenderer.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage serial() {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Java2DCanvas canvas = new Java2DCanvas(image);
+        new DialRenderer().renderDial(canvas, size, size, DialTheme.DEFAULT.getBackgroundColor());
+        canvas.dispose();
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage parallel() {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Java2DCanvas canvas = new Java2DCanvas(image);
+        // Rebuilds the paints the same way a new renderer would.
+        mParallelDialRenderer.clearPaintCache();
+        mParallelRenderer.renderDial(canvas, size, size, DialTheme.DEFAULT.getBackgroundColor());
+        canvas.dispose();
+        return image;
+    }
+}
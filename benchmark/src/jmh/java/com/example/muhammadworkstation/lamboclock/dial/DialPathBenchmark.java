@@ -0,0 +1,79 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds each part of the dial on a {@link BlackholeCanvas}, measuring the path construction
+ * and text placement without any rasterization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DialPathBenchmark {
+
+    @Param({"320", "400", "480"})
+    public int size;
+
+    private DialRenderer mRenderer;
+    private BlackholeCanvas mCanvas;
+    private float mNeedle;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        mRenderer = new DialRenderer();
+        mRenderer.setSize(size);
+        mCanvas = new BlackholeCanvas(blackhole);
+    }
+
+    @Benchmark
+    public void innerTextures() {
+        mRenderer.drawInnerTextures(mCanvas);
+    }
+
+    @Benchmark
+    public void segmentDash() {
+        mRenderer.drawSegmentDash(mCanvas);
+    }
+
+    @Benchmark
+    public void whiteBorder() {
+        // Also builds the blue outer circle.
+        mRenderer.drawWhiteBorder(mCanvas);
+    }
+
+    @Benchmark
+    public void blueOuterCircle() {
+        mRenderer.drawBlueOuterCircle(mCanvas);
+    }
+
+    @Benchmark
+    public void smallDashes() {
+        mRenderer.drawSmallDashes(mCanvas);
+    }
+
+    @Benchmark
+    public void numbers() {
+        mRenderer.drawNumbers(mCanvas);
+    }
+
+    @Benchmark
+    public void indicator() {
+        mNeedle = (mNeedle + 0.75f) % 270;
+        mRenderer.drawIndicator(mCanvas, mNeedle);
+    }
+
+    @Benchmark
+    public void fullDial() {
+        mRenderer.renderDial(mCanvas, size, size, DialTheme.DEFAULT.getBackgroundColor());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-frame hand math: the trig behind {@link DialRenderer#getX} and
+ * {@link DialRenderer#getY}, against the {@link TrigTables} lookups the watch face uses for its
+ * hands.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandMathBenchmark {
+
+    private static final float RADIUS = 400 / DialRenderer.VIEW_KEY;
+
+    private int mSecond;
+    private int mMillis;
+    private int mMinute;
+    private int mHour;
+
+    private void advance() {
+        mMillis = (mMillis + 16) % 1000;
+        if (mMillis < 16) {
+            mSecond = (mSecond + 1) % 60;
+            if (mSecond == 0) {
+                mMinute = (mMinute + 1) % 60;
+                if (mMinute == 0) {
+                    mHour = (mHour + 1) % 24;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void handTipsTrig(Blackhole blackhole) {
+        advance();
+        double second = (mSecond + mMillis / 1000.0) * 6;
+        double minute = mMinute * 6;
+        double hour = ((mHour % 12) * 60 + mMinute) * 0.5;
+        blackhole.consume(DialRenderer.getX(second, RADIUS - 20, -90));
+        blackhole.consume(DialRenderer.getY(second, RADIUS - 20, -90));
+        blackhole.consume(DialRenderer.getX(minute, RADIUS - 40, -90));
+        blackhole.consume(DialRenderer.getY(minute, RADIUS - 40, -90));
+        blackhole.consume(DialRenderer.getX(hour, RADIUS - 80, -90));
+        blackhole.consume(DialRenderer.getY(hour, RADIUS - 80, -90));
+    }
+
+    @Benchmark
+    public void handTipsTables(Blackhole blackhole) {
+        advance();
+        int sweep = TrigTables.sweepIndex(mSecond, mMillis);
+        int hour = TrigTables.hourIndex(mHour, mMinute);
+        blackhole.consume((RADIUS - 20) * TrigTables.SWEEP_SIN[sweep]);
+        blackhole.consume(-(RADIUS - 20) * TrigTables.SWEEP_COS[sweep]);
+        blackhole.consume((RADIUS - 40) * TrigTables.TICK_SIN[mMinute]);
+        blackhole.consume(-(RADIUS - 40) * TrigTables.TICK_COS[mMinute]);
+        blackhole.consume((RADIUS - 80) * TrigTables.HOUR_SIN[hour]);
+        blackhole.consume(-(RADIUS - 80) * TrigTables.HOUR_COS[hour]);
+    }
+
+    @Benchmark
+    public void numberPositionsTrig(Blackhole blackhole) {
+        float radius = RADIUS / 1.3f;
+        for (int i = 0; i < 12; i++) {
+            blackhole.consume(DialRenderer.getX(i * 30, radius, -60));
+            blackhole.consume(DialRenderer.getY(i * 30, radius, -60));
+        }
+    }
+
+    @Benchmark
+    public void numberPositionsTables(Blackhole blackhole) {
+        float radius = RADIUS / 1.3f;
+        for (int i = 0; i < 12; i++) {
+            blackhole.consume(radius * TrigTables.NUMBER_COS[i]);
+            blackhole.consume(radius * TrigTables.NUMBER_SIN[i]);
+        }
+    }
+}
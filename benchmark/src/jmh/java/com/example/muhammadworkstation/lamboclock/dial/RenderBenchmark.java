@@ -0,0 +1,53 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rasterizes the whole dial with the Java2D backend, the same work {@link RenderDial} times.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RenderBenchmark {
+
+    @Param({"320", "400", "480"})
+    public int size;
+
+    private DialRenderer mRenderer;
+    private Java2DCanvas mCanvas;
+
+    @Setup
+    public void setUp() {
+        mRenderer = new DialRenderer();
+        mCanvas = new Java2DCanvas(new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    @TearDown
+    public void tearDown() {
+        mCanvas.dispose();
+    }
+
+    @Benchmark
+    public Java2DCanvas renderDial() {
+        mRenderer.renderDial(mCanvas, size, size, DialTheme.DEFAULT.getBackgroundColor());
+        return mCanvas;
+    }
+
+    @Benchmark
+    public Java2DCanvas renderAmbientDial() {
+        mCanvas.drawColor(DialColor.BLACK);
+        mRenderer.renderAmbientDial(mCanvas, size, size, false);
+        return mCanvas;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The text metrics the dial asks for while placing its numbers, and formatting the live
+ * readouts with and without building strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextMetricsBenchmark {
+
+    private static final String[] NUMBERS = {
+            "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"
+    };
+
+    private Java2DCanvas mCanvas;
+    private DialPaint mPaint;
+    private final DigitFormatter mFormatter = new DigitFormatter(16);
+    private int mSpeed;
+    private double mDistance;
+
+    @Setup
+    public void setUp() {
+        mCanvas = new Java2DCanvas(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+        mPaint = new DialPaint(true);
+        mPaint.setTextSize(400 / DialRenderer.VIEW_KEY / 8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mCanvas.dispose();
+    }
+
+    @Benchmark
+    public void measureNumbers(Blackhole blackhole) {
+        for (String number : NUMBERS) {
+            blackhole.consume(mCanvas.measureText(number, mPaint));
+        }
+    }
+
+    @Benchmark
+    public void numberValueOf(Blackhole blackhole) {
+        for (int i = 0; i < 12; i++) {
+            blackhole.consume(String.valueOf(i + 1));
+        }
+    }
+
+    @Benchmark
+    public void ascentDescent(Blackhole blackhole) {
+        blackhole.consume(mCanvas.ascent(mPaint) + mCanvas.descent(mPaint));
+    }
+
+    @Benchmark
+    public void readoutValueOf(Blackhole blackhole) {
+        mSpeed = (mSpeed + 7) % 300;
+        mDistance += 0.05;
+        blackhole.consume(String.valueOf(mSpeed));
+        blackhole.consume(String.valueOf((double) Math.round(mDistance * 10) / 10) + " Km");
+    }
+
+    @Benchmark
+    public void readoutFormatter(Blackhole blackhole) {
+        mSpeed = (mSpeed + 7) % 300;
+        mDistance += 0.05;
+        blackhole.consume(mFormatter.clear().appendInt(mSpeed).length());
+        blackhole.consume(mFormatter.clear().appendDecimal(mDistance, 1, '.').append(" Km")
+                .length());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * The drawing operations the dial is built from. It mirrors the subset of
+ * {@code android.graphics.Canvas} the watch face uses, so the same drawing code can run on a
+ * watch or on a plain JVM.
+ *
+ * <p>Angles are in degrees, with 0 at 3 o'clock and positive sweeps going clockwise, as on
+ * Android.
+ */
+public interface DialCanvas {
+
+    /**
+     * Creates an empty path that can be drawn on this canvas.
+     */
+    DialPath newPath();
+
+    /**
+     * Fills the whole canvas, ignoring the current transform.
+     */
+    void drawColor(int color);
+
+    void drawCircle(float cx, float cy, float radius, DialPaint paint);
+
+    /**
+     * Draws the arc of the oval bounded by the given rectangle, without its center.
+     */
+    void drawArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle, DialPaint paint);
+
+    void drawLine(float startX, float startY, float stopX, float stopY, DialPaint paint);
+
+    /**
+     * Draws {@code count / 4} separate lines in one call. Each line takes four consecutive
+     * values of {@code points} from {@code offset}: start x, start y, stop x and stop y.
+     */
+    void drawLines(float[] points, int offset, int count, DialPaint paint);
+
+    void drawPath(DialPath path, DialPaint paint);
+
+    void drawText(String text, float x, float y, DialPaint paint);
+
+    float measureText(String text, DialPaint paint);
+
+    /**
+     * Returns the distance above the baseline of the paint's font, as a negative number.
+     */
+    float ascent(DialPaint paint);
+
+    /**
+     * Returns the distance below the baseline of the paint's font, as a positive number.
+     */
+    float descent(DialPaint paint);
+
+    void save();
+
+    void restore();
+
+    void translate(float dx, float dy);
+}
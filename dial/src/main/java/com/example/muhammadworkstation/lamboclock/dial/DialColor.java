@@ -0,0 +1,47 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * ARGB color helpers, equivalent to the ones in {@code android.graphics.Color}.
+ */
+public final class DialColor {
+
+    public static final int BLACK = 0xff000000;
+    public static final int WHITE = 0xffffffff;
+    public static final int RED = 0xffff0000;
+    public static final int YELLOW = 0xffffff00;
+    public static final int TRANSPARENT = 0;
+
+    public static int rgb(int red, int green, int blue) {
+        return argb(255, red, green, blue);
+    }
+
+    public static int argb(int alpha, int red, int green, int blue) {
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    public static int alpha(int color) {
+        return color >>> 24;
+    }
+
+    public static int red(int color) {
+        return (color >> 16) & 0xff;
+    }
+
+    public static int green(int color) {
+        return (color >> 8) & 0xff;
+    }
+
+    public static int blue(int color) {
+        return color & 0xff;
+    }
+
+    /**
+     * Returns the perceived brightness of the color, from 0 to 255.
+     */
+    public static int luminance(int color) {
+        return (int) (0.299f * red(color) + 0.587f * green(color) + 0.114f * blue(color));
+    }
+
+    private DialColor() {
+    }
+}
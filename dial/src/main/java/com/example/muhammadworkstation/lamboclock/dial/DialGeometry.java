@@ -0,0 +1,214 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * Every radius and anchor point of the dial and the needle for one size, computed once into a
+ * flat array when the size changes, so building the paths is only a matter of reading it.
+ * Indices are the constants below; points take two slots, x then y, relative to the center
+ * of the dial and in the angle convention of {@link DialRenderer#getX}.
+ */
+public final class DialGeometry {
+
+    /**
+     * Depth of the segment dashes, as a divisor of the reference radius.
+     */
+    static final float SEGMENT_HEIGHT = 1.05f;
+
+    public static final int BACKGROUND_RADIUS = 0;
+    public static final int SILVER_RADIUS = 1;
+
+    /**
+     * The inner textures: the thin gradient arc, the wide gradient band and the accent line.
+     */
+    public static final int RING_RADIUS = 2;
+    public static final int RING_END_X = 3;
+    public static final int BAND_OUTER_RADIUS = 4;
+    public static final int BAND_INNER_RADIUS = 5;
+    public static final int BAND_NOTCH = 6;
+    public static final int ACCENT_RADIUS = 8;
+    public static final int ACCENT_START_X = 9;
+    public static final int ACCENT_TAIL = 10;
+    public static final int ACCENT_END_X = 12;
+
+    /**
+     * The ring of small dashes and the blue arcs behind them.
+     */
+    public static final int DASH_OUTER_RADIUS = 13;
+    public static final int DASH_INNER_RADIUS = 14;
+    public static final int DASH_ARC_START = 15;
+    public static final int DASH_ARC_OUTER = 17;
+    public static final int DASH_ARC_END = 19;
+
+    /**
+     * The corners of the first segment dash.
+     */
+    public static final int SEGMENT_INNER_RADIUS = 21;
+    public static final int SEGMENT_START = 22;
+    public static final int SEGMENT_INNER_END = 24;
+    public static final int SEGMENT_INNER_START = 26;
+
+    /**
+     * The white border between two segments, which depends on its stroke width.
+     */
+    public static final int BORDER_ARC_RADIUS = 28;
+    public static final int BORDER_BOTTOM = 29;
+    public static final int BORDER_TOP = 30;
+    public static final int BORDER_TOP_END_X = 31;
+    public static final int BORDER_ARC_START = 32;
+    public static final int BORDER_TAIL = 34;
+    public static final int BORDER_END = 36;
+
+    /**
+     * The needle's hub, its ring and its red line, at 0 degrees.
+     */
+    public static final int HUB_RADIUS = 38;
+    public static final int NEEDLE_RING_RADIUS = 39;
+    public static final int NEEDLE_HOLE_RADIUS = 40;
+    public static final int NEEDLE_SHOULDER = 41;
+    public static final int NEEDLE_NECK = 43;
+    public static final int NEEDLE_TIP_HALF_WIDTH = 45;
+    public static final int NEEDLE_TIP_TOP = 46;
+    public static final int NEEDLE_TIP_BOTTOM = 47;
+    public static final int NEEDLE_TAIL = 48;
+    public static final int NEEDLE_END = 50;
+    public static final int LINE_TIP_LEFT = 52;
+    public static final int LINE_TIP_RIGHT = 54;
+    public static final int LINE_WIDE = 56;
+    public static final int LINE_END = 58;
+
+    /**
+     * Where the numerals are centered, one point per numeral.
+     */
+    public static final int NUMBER_RADIUS = 60;
+    public static final int NUMBERS = 61;
+
+    /**
+     * Outer and inner end of each small dash, four values per dash.
+     */
+    public static final int SMALL_DASHES = NUMBERS + TrigTables.NUMBER_COS.length * 2;
+
+    public static final int SIZE = SMALL_DASHES + TrigTables.SMALL_DASH_COS.length * 4;
+
+    private final float[] mValues = new float[SIZE];
+    private float mCircleRatio;
+    private float mBorderWidth;
+
+    public float getCircleRatio() {
+        return mCircleRatio;
+    }
+
+    public float get(int index) {
+        return mValues[index];
+    }
+
+    /**
+     * Returns the whole table. The array must not be modified.
+     */
+    float[] values() {
+        return mValues;
+    }
+
+    /**
+     * Computes the table for the reference radius {@code circleRatio} and a border stroke
+     * {@code borderWidth} pixels wide, unless it already holds it.
+     */
+    public void set(float circleRatio, float borderWidth) {
+        if (circleRatio == mCircleRatio && borderWidth == mBorderWidth) {
+            return;
+        }
+        mCircleRatio = circleRatio;
+        mBorderWidth = borderWidth;
+        float[] v = mValues;
+        float r = circleRatio;
+
+        v[BACKGROUND_RADIUS] = r + 20;
+        v[SILVER_RADIUS] = r / 0.93264f;
+
+        v[RING_RADIUS] = r / 1.6615f;
+        v[RING_END_X] = r / 1.294f;
+        v[BAND_OUTER_RADIUS] = r / 1.694f;
+        v[BAND_INNER_RADIUS] = r / 1.976f;
+        v[BAND_NOTCH] = r / 16.424f;
+        v[BAND_NOTCH + 1] = r / 2.0915f;
+        v[ACCENT_RADIUS] = r / 2.0524f;
+        v[ACCENT_START_X] = r / 7.287f;
+        v[ACCENT_TAIL] = r / 16.424f;
+        v[ACCENT_TAIL + 1] = r / 2.1908f;
+        v[ACCENT_END_X] = r / 1.1519f;
+
+        v[DASH_OUTER_RADIUS] = r / 1.0225f;
+        v[DASH_INNER_RADIUS] = r / 1.0747f;
+        v[DASH_ARC_START] = DialRenderer.getX(94.6, r / 1.0747, 0);
+        v[DASH_ARC_START + 1] = DialRenderer.getY(94.6, r / 1.0747, 0);
+        v[DASH_ARC_OUTER] = DialRenderer.getX(96.6, r / 1.0225, 0);
+        v[DASH_ARC_OUTER + 1] = DialRenderer.getY(96.6, r / 1.025, 0);
+        v[DASH_ARC_END] = DialRenderer.getX(115.4, r / 1.0747, 0);
+        v[DASH_ARC_END + 1] = DialRenderer.getY(115.4, r / 1.0747, 0);
+
+        float segmentInner = r / SEGMENT_HEIGHT;
+        v[SEGMENT_INNER_RADIUS] = segmentInner;
+        int[] corners = {TrigTables.SEGMENT_START, TrigTables.SEGMENT_INNER_END,
+                TrigTables.SEGMENT_INNER_START};
+        float[] radii = {r, segmentInner, segmentInner};
+        for (int i = 0; i < corners.length; i++) {
+            v[SEGMENT_START + i * 2] = radii[i] * TrigTables.SEGMENT_COS[corners[i]];
+            v[SEGMENT_START + i * 2 + 1] = radii[i] * TrigTables.SEGMENT_SIN[corners[i]];
+        }
+
+        float arcRadius = r - borderWidth / 2;
+        float borderTop = segmentInner / 1.019f;
+        v[BORDER_ARC_RADIUS] = arcRadius;
+        v[BORDER_BOTTOM] = segmentInner / 1.06f;
+        v[BORDER_TOP] = borderTop;
+        v[BORDER_TOP_END_X] = DialRenderer.getX(93.5, r / 1.01, 0);
+        v[BORDER_ARC_START] = DialRenderer.getX(96, arcRadius, 0);
+        v[BORDER_ARC_START + 1] = DialRenderer.getY(96, arcRadius, 0);
+        // Divided in double precision, unlike the top edge; the two round differently.
+        double tailRadius = segmentInner / 1.019;
+        v[BORDER_TAIL] = DialRenderer.getX(26.4, tailRadius, 90);
+        v[BORDER_TAIL + 1] = DialRenderer.getY(26.4, tailRadius, 90);
+        v[BORDER_END] = DialRenderer.getX(30, tailRadius, 90);
+        v[BORDER_END + 1] = DialRenderer.getY(30, tailRadius, 90);
+
+        v[HUB_RADIUS] = r / 13.845f;
+        v[NEEDLE_RING_RADIUS] = r / 8.86f;
+        v[NEEDLE_HOLE_RADIUS] = r / 17.306f;
+        v[NEEDLE_SHOULDER] = r / 22.8276f;
+        v[NEEDLE_SHOULDER + 1] = -r / 9.6145f;
+        v[NEEDLE_NECK] = r / 34.526f;
+        v[NEEDLE_NECK + 1] = -r / 5.9728f;
+        v[NEEDLE_TIP_HALF_WIDTH] = r / 33.6f;
+        v[NEEDLE_TIP_TOP] = -r / 5.2522f;
+        v[NEEDLE_TIP_BOTTOM] = -r / 7.64f;
+        v[NEEDLE_TAIL] = r / 18.4231f;
+        v[NEEDLE_TAIL + 1] = r / 10.1058f;
+        v[NEEDLE_END] = r / 52.344f;
+        v[NEEDLE_END + 1] = r / 1.5475f;
+        v[LINE_TIP_LEFT] = -r / 138.45f;
+        v[LINE_TIP_LEFT + 1] = -r / 4.49221f;
+        v[LINE_TIP_RIGHT] = r / 138.45f;
+        v[LINE_TIP_RIGHT + 1] = -r / 4.4944f;
+        v[LINE_WIDE] = r / 69.225f;
+        v[LINE_WIDE + 1] = -r / 5.2078f;
+        v[LINE_END] = r / 184.6f;
+        v[LINE_END + 1] = r / 1.0365f;
+
+        float numberRadius = r / 1.3f;
+        v[NUMBER_RADIUS] = numberRadius;
+        for (int i = 0; i < TrigTables.NUMBER_COS.length; i++) {
+            v[NUMBERS + i * 2] = numberRadius * TrigTables.NUMBER_COS[i];
+            v[NUMBERS + i * 2 + 1] = numberRadius * TrigTables.NUMBER_SIN[i];
+        }
+
+        float dashOuter = v[DASH_OUTER_RADIUS];
+        float dashInner = v[DASH_INNER_RADIUS];
+        for (int i = 0; i < TrigTables.SMALL_DASH_COS.length; i++) {
+            float cos = TrigTables.SMALL_DASH_COS[i];
+            float sin = TrigTables.SMALL_DASH_SIN[i];
+            int at = SMALL_DASHES + i * 4;
+            v[at] = dashOuter * cos;
+            v[at + 1] = dashOuter * sin;
+            v[at + 2] = dashInner * cos;
+            v[at + 3] = dashInner * sin;
+        }
+    }
+}
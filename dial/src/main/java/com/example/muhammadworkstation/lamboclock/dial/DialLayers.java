@@ -0,0 +1,24 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * Offscreen layers for {@link ParallelDialRenderer}, provided by each drawing backend.
+ */
+public interface DialLayers {
+
+    /**
+     * Returns a transparent canvas of the given size to draw one layer into. It is drawn on
+     * from a single worker thread.
+     */
+    DialCanvas createLayer(int width, int height);
+
+    /**
+     * Draws {@code layer} over {@code target}, with their top left corners aligned and
+     * ignoring any transform of {@code target}.
+     */
+    void composite(DialCanvas target, DialCanvas layer);
+
+    /**
+     * Releases a layer once it has been composited.
+     */
+    void releaseLayer(DialCanvas layer);
+}
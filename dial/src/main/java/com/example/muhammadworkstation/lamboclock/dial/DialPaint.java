@@ -0,0 +1,204 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * Describes how something on the dial is drawn. This is a plain description of the
+ * {@code android.graphics.Paint} settings the face uses; each {@link DialCanvas} turns it into
+ * its own paint object.
+ *
+ * <p>Every change bumps {@link #getGeneration()}, so backends can keep their converted paint
+ * until the description actually changes.
+ */
+public class DialPaint {
+
+    public enum Style {FILL, STROKE}
+
+    public enum Cap {BUTT, ROUND, SQUARE}
+
+    public enum Join {MITER, ROUND, BEVEL}
+
+    public enum Blur {NORMAL, SOLID}
+
+    private int mGeneration;
+
+    private int mColor = DialColor.BLACK;
+    private Style mStyle = Style.FILL;
+    private float mStrokeWidth;
+    private Cap mStrokeCap = Cap.BUTT;
+    private Join mStrokeJoin = Join.MITER;
+    private boolean mAntiAlias;
+    private float mTextSize = 12;
+
+    private float mBlurRadius;
+    private Blur mBlur;
+
+    private float[] mEmbossDirection;
+    private float mEmbossAmbient;
+    private float mEmbossSpecular;
+    private float mEmbossBlurRadius;
+
+    private int[] mSweepColors;
+    private float[] mSweepPositions;
+
+    public DialPaint() {
+    }
+
+    public DialPaint(boolean antiAlias) {
+        mAntiAlias = antiAlias;
+    }
+
+    public int getGeneration() {
+        return mGeneration;
+    }
+
+    public int getColor() {
+        return mColor;
+    }
+
+    public void setColor(int color) {
+        mColor = color;
+        mGeneration++;
+    }
+
+    public Style getStyle() {
+        return mStyle;
+    }
+
+    public void setStyle(Style style) {
+        mStyle = style;
+        mGeneration++;
+    }
+
+    public float getStrokeWidth() {
+        return mStrokeWidth;
+    }
+
+    public void setStrokeWidth(float strokeWidth) {
+        mStrokeWidth = strokeWidth;
+        mGeneration++;
+    }
+
+    public Cap getStrokeCap() {
+        return mStrokeCap;
+    }
+
+    public void setStrokeCap(Cap strokeCap) {
+        mStrokeCap = strokeCap;
+        mGeneration++;
+    }
+
+    public Join getStrokeJoin() {
+        return mStrokeJoin;
+    }
+
+    public void setStrokeJoin(Join strokeJoin) {
+        mStrokeJoin = strokeJoin;
+        mGeneration++;
+    }
+
+    public boolean isAntiAlias() {
+        return mAntiAlias;
+    }
+
+    public void setAntiAlias(boolean antiAlias) {
+        mAntiAlias = antiAlias;
+        mGeneration++;
+    }
+
+    public float getTextSize() {
+        return mTextSize;
+    }
+
+    public void setTextSize(float textSize) {
+        mTextSize = textSize;
+        mGeneration++;
+    }
+
+    /**
+     * Blurs the drawn shape by {@code radius}, like {@code BlurMaskFilter}.
+     */
+    public void setBlur(float radius, Blur blur) {
+        mBlurRadius = radius;
+        mBlur = blur;
+        mEmbossDirection = null;
+        mGeneration++;
+    }
+
+    /**
+     * Returns the blur style, or null if the paint is not blurred.
+     */
+    public Blur getBlur() {
+        return mBlur;
+    }
+
+    public float getBlurRadius() {
+        return mBlurRadius;
+    }
+
+    /**
+     * Lights the drawn shape as if it were raised, like {@code EmbossMaskFilter}.
+     */
+    public void setEmboss(float[] direction, float ambient, float specular, float blurRadius) {
+        mEmbossDirection = direction;
+        mEmbossAmbient = ambient;
+        mEmbossSpecular = specular;
+        mEmbossBlurRadius = blurRadius;
+        mBlur = null;
+        mGeneration++;
+    }
+
+    public boolean hasEmboss() {
+        return mEmbossDirection != null;
+    }
+
+    public float[] getEmbossDirection() {
+        return mEmbossDirection;
+    }
+
+    public float getEmbossAmbient() {
+        return mEmbossAmbient;
+    }
+
+    public float getEmbossSpecular() {
+        return mEmbossSpecular;
+    }
+
+    public float getEmbossBlurRadius() {
+        return mEmbossBlurRadius;
+    }
+
+    /**
+     * Removes any blur or emboss.
+     */
+    public void clearMaskFilter() {
+        mBlur = null;
+        mEmbossDirection = null;
+        mGeneration++;
+    }
+
+    /**
+     * Colors the shape with a sweep gradient around the origin, like {@code SweepGradient}.
+     * {@code positions} may be null to spread the colors evenly.
+     */
+    public void setSweepGradient(int[] colors, float[] positions) {
+        mSweepColors = colors;
+        mSweepPositions = positions;
+        mGeneration++;
+    }
+
+    /**
+     * Returns the sweep gradient colors, or null if the paint uses its plain color.
+     */
+    public int[] getSweepColors() {
+        return mSweepColors;
+    }
+
+    public float[] getSweepPositions() {
+        return mSweepPositions;
+    }
+
+    public void clearShader() {
+        mSweepColors = null;
+        mSweepPositions = null;
+        mGeneration++;
+    }
+}
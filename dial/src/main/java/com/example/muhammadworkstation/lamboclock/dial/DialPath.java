@@ -0,0 +1,38 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * A path created by {@link DialCanvas#newPath()}. Operations behave like their
+ * {@code android.graphics.Path} counterparts.
+ */
+public interface DialPath {
+
+    void rewind();
+
+    void moveTo(float x, float y);
+
+    void lineTo(float x, float y);
+
+    /**
+     * Appends an arc of the given oval, joined to the current point by a line.
+     */
+    void arcTo(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle);
+
+    /**
+     * Adds an arc of the given oval as a new contour.
+     */
+    void addArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle);
+
+    /**
+     * Adds a closed circle as a new contour, wound clockwise unless {@code ccw} is set.
+     */
+    void addCircle(float cx, float cy, float radius, boolean ccw);
+
+    void close();
+
+    /**
+     * Rotates the path in place around the origin.
+     */
+    void rotate(float degrees);
+}
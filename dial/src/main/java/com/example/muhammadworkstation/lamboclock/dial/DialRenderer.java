@@ -0,0 +1,697 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Draws the Lamborghini style dial and the speed needle onto any {@link DialCanvas}. The
+ * geometry is derived from {@link #getCircleRatio()}, which follows the width of the face, and
+ * the colors and stroke sizes come from a {@link DialTheme}.
+ */
+public class DialRenderer {
+
+    /**
+     * The dial's reference radius is the face width divided by this.
+     */
+    public static final float VIEW_KEY = 2.6f;
+
+    /**
+     * The parts of the full color dial, in drawing order. Each one only draws on top of the
+     * ones before it, so they can be drawn into separate layers and composited in this order.
+     */
+    public static final int LAYER_BACKGROUND = 0;
+    public static final int LAYER_INNER_TEXTURES = 1;
+    public static final int LAYER_SEGMENTS = 2;
+    public static final int LAYER_NUMBERS = 3;
+    public static final int LAYER_BORDER = 4;
+    public static final int LAYER_SMALL_DASHES = 5;
+    public static final int LAYER_SILVER_RING = 6;
+    public static final int LAYER_COUNT = 7;
+
+    /**
+     * Which paints are in use: the full color ones, or the ones for either ambient dial.
+     */
+    private static final int PAINTS_NONE = -1;
+    private static final int PAINTS_NORMAL = 0;
+    private static final int PAINTS_AMBIENT = 1;
+    private static final int PAINTS_LOW_BIT = 2;
+
+    /**
+     * Paint sets kept for switching back; a face uses one or two sizes, and a few themes.
+     */
+    private static final int MAX_CACHED_PAINTS = 12;
+
+    private float  circleRatio ;
+    private DialTheme theme = DialTheme.DEFAULT;
+    private int paintMode = PAINTS_NONE;
+
+    private final PaintKey paintKey = new PaintKey();
+    private final LinkedHashMap<PaintKey, PaintSet> paintCache =
+            new LinkedHashMap<PaintKey, PaintSet>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PaintKey, PaintSet> eldest) {
+                    return size() > MAX_CACHED_PAINTS;
+                }
+            };
+
+    /**
+     * Radii and anchor points for the current size.
+     */
+    private final DialGeometry geometry = new DialGeometry();
+
+    private DialPaint segmentPaint;
+    private DialPaint firstSegmentPaint;
+    private DialPaint inbetweenArcPaint;
+    private DialPaint smallDashPaint;
+    private DialPaint smallDashesPathPaint;
+    private DialPaint textPaint;
+    private DialPaint indicatorInnerBallPaint;
+    private DialPaint indicatorRingPaint;
+    private DialPaint indicatorRingBlurPaint;
+    private DialPaint indicatorLinePaint;
+    private DialPaint innerBluePaint1;
+    private DialPaint innerBluePaint2;
+    private DialPaint innerYellowPaint;
+    private DialPaint silverPaint;
+    private DialPaint silverBlurPaint;
+    private DialPaint antiFiberPaint ;
+
+    /**
+     * The needle path is rebuilt every frame, so it is kept for the canvas it was created on.
+     */
+    private DialPath indicatorRingPath;
+    private DialCanvas indicatorPathCanvas;
+
+    private static final String[] NUMERALS = {
+            "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"
+    };
+
+    private static  final int W=0;
+    private static  final int H=1;
+
+    public float getCircleRatio() {
+        return circleRatio;
+    }
+
+    /**
+     * Returns the radii and anchor points of the dial at the current size.
+     */
+    public DialGeometry getGeometry() {
+        return geometry;
+    }
+
+    public DialTheme getTheme() {
+        return theme;
+    }
+
+    /**
+     * Switches to {@code theme}. The paints of themes used before are cached, so switching
+     * back and forth does not rebuild them.
+     */
+    public void setTheme(DialTheme theme) {
+        if (theme != this.theme) {
+            this.theme = theme;
+            if (paintMode != PAINTS_NONE) {
+                selectPaints(paintMode);
+            }
+        }
+    }
+
+    /**
+     * Sizes the dial for a face of the given width, switching to the paints for that size and
+     * back from the ambient ones if needed.
+     */
+    public void setSize(int width) {
+        float ratio = width / VIEW_KEY;
+        if (ratio != circleRatio || paintMode != PAINTS_NORMAL) {
+            /************************************************************************
+             *************VIEW KEY***************************************************/
+            circleRatio= ratio;
+            /************************************************************************
+             *************VIEW KEY***************************************************/
+            selectPaints(PAINTS_NORMAL);
+        }
+    }
+
+    /**
+     * Drops the cached paints, so the next render builds them again.
+     */
+    public void clearPaintCache() {
+        paintCache.clear();
+        paintMode = PAINTS_NONE;
+    }
+
+    /**
+     * Renders the full color dial, filling the rest of the canvas with
+     * {@code backgroundColor}.
+     */
+    public void renderDial(DialCanvas canvas, int width, int height, int backgroundColor) {
+        setSize(width);
+
+        canvas.drawColor(backgroundColor);
+        canvas.save();
+        canvas.translate(width / 2, height / 2);
+
+        for (int layer = 0; layer < LAYER_COUNT; layer++) {
+            drawLayer(canvas, layer);
+        }
+        canvas.restore();
+    }
+
+    /**
+     * Draws one of the {@code LAYER_} parts of the full color dial around the origin of
+     * {@code canvas}. {@link #setSize} must have been called first. Drawing only reads the
+     * renderer's state, so different layers can be drawn on different threads at once.
+     */
+    public void drawLayer(DialCanvas canvas, int layer) {
+        switch (layer) {
+            case LAYER_BACKGROUND:
+                canvas.drawCircle(0, 0, geometry.get(DialGeometry.BACKGROUND_RADIUS),
+                        antiFiberPaint);
+                break;
+            case LAYER_INNER_TEXTURES:
+                drawInnerTextures(canvas);
+                break;
+            case LAYER_SEGMENTS:
+                drawSegmentDash(canvas);
+                break;
+            case LAYER_NUMBERS:
+                drawNumbers(canvas);
+                break;
+            case LAYER_BORDER:
+                drawWhiteBorder(canvas);
+                break;
+            case LAYER_SMALL_DASHES:
+                drawSmallDashes(canvas);
+                break;
+            case LAYER_SILVER_RING:
+                drawSliverOuterCircle(canvas);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown layer " + layer);
+        }
+    }
+
+    /**
+     * Renders the reduced dial shown in ambient mode onto a transparent canvas. The inner
+     * textures, the navy disc and the blurred silver ring are left out, and the remaining marks
+     * are drawn in white with an alpha equal to their luminance, or fully opaque without
+     * anti-aliasing when {@code lowBit}.
+     */
+    public void renderAmbientDial(DialCanvas canvas, int width, int height, boolean lowBit) {
+        setSize(width);
+        selectPaints(lowBit ? PAINTS_LOW_BIT : PAINTS_AMBIENT);
+
+        canvas.save();
+        canvas.translate(width / 2, height / 2);
+
+        drawSegmentDash(canvas);
+        drawNumbers(canvas);
+
+        drawWhiteBorder(canvas);
+        drawSmallDashes(canvas);
+
+        canvas.drawCircle(0, 0, geometry.get(DialGeometry.SILVER_RADIUS), silverPaint);
+        canvas.restore();
+    }
+
+    /**
+     * Points the paint fields at the cached set for the current theme and size in
+     * {@code mode}, creating it on a miss.
+     */
+    private void selectPaints(int mode) {
+        paintKey.set(theme, circleRatio, mode);
+        PaintSet paints = paintCache.get(paintKey);
+        if (paints == null) {
+            paints = new PaintSet(theme, circleRatio);
+            if (mode != PAINTS_NORMAL) {
+                paints.makeAmbient(circleRatio, mode == PAINTS_LOW_BIT);
+            }
+            paintCache.put(new PaintKey(theme, circleRatio, mode), paints);
+        }
+        paintMode = mode;
+        geometry.set(circleRatio, paints.inbetweenArcPaint.getStrokeWidth());
+
+        segmentPaint = paints.segmentPaint;
+        firstSegmentPaint = paints.firstSegmentPaint;
+        inbetweenArcPaint = paints.inbetweenArcPaint;
+        smallDashPaint = paints.smallDashPaint;
+        smallDashesPathPaint = paints.smallDashesPathPaint;
+        textPaint = paints.textPaint;
+        indicatorInnerBallPaint = paints.indicatorInnerBallPaint;
+        indicatorRingPaint = paints.indicatorRingPaint;
+        indicatorRingBlurPaint = paints.indicatorRingBlurPaint;
+        indicatorLinePaint = paints.indicatorLinePaint;
+        innerBluePaint1 = paints.innerBluePaint1;
+        innerBluePaint2 = paints.innerBluePaint2;
+        innerYellowPaint = paints.innerYellowPaint;
+        silverPaint = paints.silverPaint;
+        silverBlurPaint = paints.silverBlurPaint;
+        antiFiberPaint = paints.antiFiberPaint;
+    }
+
+    /**
+     * The paints of one theme at one size. Sets are cached rather than rebuilt, so the same
+     * {@link DialPaint} objects come back on every switch, and a backend that keeps what it
+     * converts them to, such as the gradient shaders, can reuse that as well.
+     */
+    private static final class PaintSet {
+        final DialPaint segmentPaint;
+        final DialPaint firstSegmentPaint;
+        final DialPaint inbetweenArcPaint;
+        final DialPaint smallDashPaint;
+        final DialPaint smallDashesPathPaint;
+        final DialPaint textPaint;
+        final DialPaint indicatorInnerBallPaint;
+        final DialPaint indicatorRingPaint;
+        final DialPaint indicatorRingBlurPaint;
+        final DialPaint indicatorLinePaint;
+        final DialPaint innerBluePaint1;
+        final DialPaint innerBluePaint2;
+        final DialPaint innerYellowPaint;
+        final DialPaint silverPaint;
+        final DialPaint silverBlurPaint;
+        final DialPaint antiFiberPaint;
+
+        PaintSet(DialTheme theme, float circleRatio) {
+            segmentPaint=new DialPaint(true);
+            segmentPaint.setColor(theme.getColor(DialTheme.SEGMENT));
+            segmentPaint.setStyle(DialPaint.Style.FILL);
+            segmentPaint.setStrokeWidth(circleRatio / theme.getSize(DialTheme.SEGMENT_WIDTH));
+
+            inbetweenArcPaint=new DialPaint(true);
+            inbetweenArcPaint.setColor(theme.getColor(DialTheme.BORDER));
+            inbetweenArcPaint.setStyle(DialPaint.Style.STROKE);
+            inbetweenArcPaint.setStrokeWidth(circleRatio / theme.getSize(DialTheme.BORDER_WIDTH));
+
+            smallDashPaint=new DialPaint(true);
+            smallDashPaint.setColor(theme.getColor(DialTheme.SMALL_DASH));
+            smallDashPaint.setStrokeWidth(circleRatio / theme.getSize(DialTheme.SMALL_DASH_WIDTH));
+
+            firstSegmentPaint=new DialPaint(true);
+            firstSegmentPaint.setColor(theme.getColor(DialTheme.FIRST_SEGMENT));
+
+            textPaint=new DialPaint(true);
+            textPaint.setColor(theme.getColor(DialTheme.NUMBERS));
+            textPaint.setTextSize(circleRatio / theme.getSize(DialTheme.NUMBER_SIZE));
+
+            indicatorInnerBallPaint=new DialPaint(true);
+            indicatorInnerBallPaint.setColor(theme.getColor(DialTheme.HUB));
+            indicatorInnerBallPaint.setEmboss(new float[]{10f,20,50},0f,50,7);
+
+            smallDashesPathPaint =new DialPaint(true);
+            smallDashesPathPaint.setStyle(DialPaint.Style.FILL);
+            smallDashesPathPaint.setStrokeWidth(
+                    circleRatio / theme.getSize(DialTheme.SEGMENT_WIDTH));
+            smallDashesPathPaint.setColor(theme.getColor(DialTheme.DASH_ARC));
+
+            float needleGlow = circleRatio / theme.getSize(DialTheme.NEEDLE_GLOW_WIDTH);
+
+            indicatorRingPaint=new DialPaint(true);
+            indicatorRingPaint.setColor(theme.getColor(DialTheme.NEEDLE));
+            indicatorRingPaint.setStyle(DialPaint.Style.FILL);
+            indicatorRingPaint.setStrokeWidth(circleRatio / theme.getSize(DialTheme.NEEDLE_WIDTH));
+            indicatorRingPaint.setStrokeJoin(DialPaint.Join.ROUND);
+            indicatorRingPaint.setStrokeCap(DialPaint.Cap.ROUND);
+
+            indicatorRingBlurPaint=new DialPaint(true);
+            indicatorRingBlurPaint.setColor(theme.getColor(DialTheme.NEEDLE));
+            indicatorRingBlurPaint.setStrokeWidth(needleGlow);
+            indicatorRingBlurPaint.setBlur(needleGlow, DialPaint.Blur.SOLID);
+
+            indicatorLinePaint=new DialPaint(true);
+            indicatorLinePaint.setColor(theme.getColor(DialTheme.NEEDLE_LINE));
+
+            innerBluePaint1=new DialPaint(true);
+            innerBluePaint1.setStyle(DialPaint.Style.STROKE);
+            innerBluePaint1.setStrokeWidth(circleRatio / theme.getSize(DialTheme.INNER_RING_WIDTH));
+            innerBluePaint1.setSweepGradient(theme.getGradientColors(DialTheme.INNER_RING),
+                    theme.getGradientPositions(DialTheme.INNER_RING));
+
+            innerBluePaint2=new DialPaint(true);
+            innerBluePaint2.setSweepGradient(theme.getGradientColors(DialTheme.INNER_FILL),
+                    theme.getGradientPositions(DialTheme.INNER_FILL));
+
+            innerYellowPaint=new DialPaint(true);
+            innerYellowPaint.setColor(theme.getColor(DialTheme.ACCENT));
+            innerYellowPaint.setStyle(DialPaint.Style.STROKE);
+            innerYellowPaint.setStrokeWidth(circleRatio / theme.getSize(DialTheme.ACCENT_WIDTH));
+            innerYellowPaint.setTextSize(circleRatio / theme.getSize(DialTheme.ACCENT_TEXT_SIZE));
+
+            silverPaint =new DialPaint(true);
+            silverPaint.setStyle(DialPaint.Style.STROKE);
+            silverPaint.setColor(theme.getColor(DialTheme.SILVER));
+            silverPaint.setStrokeWidth(circleRatio / theme.getSize(DialTheme.SILVER_WIDTH));
+
+            float silverGlow = circleRatio / theme.getSize(DialTheme.SILVER_GLOW_WIDTH);
+            silverBlurPaint=new DialPaint(true);
+            silverBlurPaint.setColor(theme.getColor(DialTheme.SILVER_GLOW));
+            silverBlurPaint.setStyle(DialPaint.Style.STROKE);
+            silverBlurPaint.setStrokeWidth(silverGlow);
+            silverBlurPaint.setBlur(silverGlow, DialPaint.Blur.SOLID);
+
+            antiFiberPaint=new DialPaint(true);
+            antiFiberPaint.setColor(theme.getColor(DialTheme.DIAL));
+        }
+
+        /**
+         * Turns the marks white with an alpha equal to their luminance, so the luminance is
+         * still taken from the theme's colors, or fully opaque and aliased when
+         * {@code lowBit}.
+         */
+        void makeAmbient(float circleRatio, boolean lowBit) {
+            DialPaint[] dialPaints = {segmentPaint, firstSegmentPaint, inbetweenArcPaint,
+                    smallDashPaint, smallDashesPathPaint, textPaint, silverPaint};
+            for (DialPaint paint : dialPaints) {
+                int luminance = DialColor.luminance(paint.getColor());
+                paint.setColor(DialColor.argb(lowBit ? 255 : luminance, 255, 255, 255));
+                paint.clearShader();
+                paint.clearMaskFilter();
+                paint.setAntiAlias(!lowBit);
+            }
+            silverPaint.setStrokeWidth(circleRatio / 92.3f);
+        }
+    }
+
+    /**
+     * Identifies a {@link PaintSet}. Themes are compared by identity, as they are immutable
+     * and parsed once.
+     */
+    private static final class PaintKey {
+        DialTheme theme;
+        float circleRatio;
+        int mode;
+
+        PaintKey() {
+        }
+
+        PaintKey(DialTheme theme, float circleRatio, int mode) {
+            set(theme, circleRatio, mode);
+        }
+
+        void set(DialTheme theme, float circleRatio, int mode) {
+            this.theme = theme;
+            this.circleRatio = circleRatio;
+            this.mode = mode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PaintKey)) {
+                return false;
+            }
+            PaintKey other = (PaintKey) o;
+            return theme == other.theme && circleRatio == other.circleRatio
+                    && mode == other.mode;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(theme) * 31 + Float.floatToIntBits(circleRatio))
+                    * 31 + mode;
+        }
+    }
+
+    private void drawSliverOuterCircle(DialCanvas canvas) {
+        float radius = geometry.get(DialGeometry.SILVER_RADIUS);
+        canvas.drawCircle(0, 0, radius, silverBlurPaint);
+        canvas.drawCircle(0, 0, radius, silverPaint);
+    }
+
+    //***************************************************************
+
+    void drawInnerTextures(DialCanvas canvas) {
+        float[] g = geometry.values();
+
+        //making the thin blue arc
+        float blueRadius1 = g[DialGeometry.RING_RADIUS];
+        DialPath innerBluePath1 = canvas.newPath();
+        innerBluePath1.moveTo(blueRadius1, 0);
+        innerBluePath1.arcTo(-blueRadius1, -blueRadius1, blueRadius1, blueRadius1, 0, -270);
+        innerBluePath1.lineTo(g[DialGeometry.RING_END_X], blueRadius1);
+
+        canvas.drawPath(innerBluePath1, innerBluePaint1);
+
+        //making the wide inner texture
+        float blueRadius2_1 = g[DialGeometry.BAND_OUTER_RADIUS];
+        float blueRadius2_2 = g[DialGeometry.BAND_INNER_RADIUS];
+        float dashRadius = g[DialGeometry.DASH_OUTER_RADIUS];
+        DialPath innerBluePath2 = canvas.newPath();
+        innerBluePath2.moveTo(blueRadius2_1, 0);
+        innerBluePath2.arcTo(-blueRadius2_1, -blueRadius2_1, blueRadius2_1, blueRadius2_1, 0, -270);
+        innerBluePath2.lineTo(g[DialGeometry.RING_END_X], blueRadius2_1);
+        innerBluePath2.arcTo(-dashRadius, -dashRadius, dashRadius, dashRadius, 36.5f, -7.93f);
+        innerBluePath2.lineTo(g[DialGeometry.BAND_NOTCH], g[DialGeometry.BAND_NOTCH + 1]);
+        innerBluePath2.lineTo(0, blueRadius2_2);
+        innerBluePath2.arcTo(-blueRadius2_2, -blueRadius2_2, blueRadius2_2, blueRadius2_2, 90, 270);
+        innerBluePath2.lineTo(blueRadius2_1, 0);
+
+
+        canvas.drawPath(innerBluePath2, innerBluePaint2);
+
+        //drawing the yellow texture
+
+        float yellowRadius = g[DialGeometry.ACCENT_RADIUS];
+        DialPath innerYellowPath = canvas.newPath();
+        innerYellowPath.moveTo(g[DialGeometry.ACCENT_START_X], 0);
+        innerYellowPath.lineTo(yellowRadius, 0);
+        innerYellowPath.arcTo(-yellowRadius, -yellowRadius, yellowRadius, yellowRadius, 0, -270);
+        innerYellowPath.lineTo(g[DialGeometry.ACCENT_TAIL], g[DialGeometry.ACCENT_TAIL + 1]);
+        innerYellowPath.lineTo(g[DialGeometry.ACCENT_END_X], g[DialGeometry.ACCENT_TAIL + 1]);
+
+        canvas.drawPath(innerYellowPath,innerYellowPaint);
+    }
+
+//todo make altidude meter
+
+    //*************************************************************************************************
+
+    /**
+     * Draws the speed needle pointing at {@code degrees}, around the origin of
+     * {@code canvas}.
+     */
+    public void drawIndicator(DialCanvas canvas, float degrees) {
+        drawIndicatorHub(canvas);
+        drawIndicatorNeedle(canvas, degrees);
+    }
+
+    /**
+     * Draws the embossed ball under the needle at the origin of {@code canvas}. It looks the
+     * same at every needle angle, as the emboss light does not turn with the needle.
+     */
+    public void drawIndicatorHub(DialCanvas canvas) {
+        canvas.drawCircle(0, 0, geometry.get(DialGeometry.HUB_RADIUS), indicatorInnerBallPaint);
+    }
+
+    /**
+     * Radius of the area {@link #drawIndicatorHub} draws into.
+     */
+    public float getIndicatorHubRadius() {
+        return geometry.get(DialGeometry.HUB_RADIUS)
+                + indicatorInnerBallPaint.getEmbossBlurRadius();
+    }
+
+    /**
+     * Draws the needle ring, its glow and the red line, rotated by {@code degrees} around the
+     * origin of {@code canvas}.
+     */
+    public void drawIndicatorNeedle(DialCanvas canvas, float degrees) {
+        if (indicatorPathCanvas != canvas) {
+            indicatorRingPath = canvas.newPath();
+            indicatorPathCanvas = canvas;
+        }
+        float[] g = geometry.values();
+        float ringRadius = g[DialGeometry.NEEDLE_RING_RADIUS];
+        float shoulderX = g[DialGeometry.NEEDLE_SHOULDER];
+        float shoulderY = g[DialGeometry.NEEDLE_SHOULDER + 1];
+        float neckX = g[DialGeometry.NEEDLE_NECK];
+        float neckY = g[DialGeometry.NEEDLE_NECK + 1];
+        float tipHalfWidth = g[DialGeometry.NEEDLE_TIP_HALF_WIDTH];
+        float endX = g[DialGeometry.NEEDLE_END];
+        float endY = g[DialGeometry.NEEDLE_END + 1];
+
+        indicatorRingPath.rewind();
+
+        indicatorRingPath.moveTo(-shoulderX, shoulderY);
+        indicatorRingPath.lineTo(-neckX, neckY);
+        indicatorRingPath.addArc(-tipHalfWidth, g[DialGeometry.NEEDLE_TIP_TOP], tipHalfWidth, g[DialGeometry.NEEDLE_TIP_BOTTOM], 193.16f, 153.68f);
+        indicatorRingPath.lineTo(neckX, neckY);
+        indicatorRingPath.lineTo(shoulderX, shoulderY);
+        indicatorRingPath.arcTo(-ringRadius, -ringRadius, ringRadius, ringRadius, -67.31f, 128.57f);
+        indicatorRingPath.lineTo(g[DialGeometry.NEEDLE_TAIL], g[DialGeometry.NEEDLE_TAIL + 1]);
+        indicatorRingPath.lineTo(endX, endY);
+        indicatorRingPath.lineTo(-endX, endY);
+        indicatorRingPath.arcTo(-ringRadius, -ringRadius, ringRadius, ringRadius, 118.18f, 128.57f);
+        indicatorRingPath.addCircle(0, 0, g[DialGeometry.NEEDLE_HOLE_RADIUS], true);
+        indicatorRingPath.rotate(degrees);
+        canvas.drawPath(indicatorRingPath, indicatorRingPaint);
+        canvas.drawPath(indicatorRingPath, indicatorRingBlurPaint);
+
+
+        //making the red line
+
+        float wideX = g[DialGeometry.LINE_WIDE];
+        float wideY = g[DialGeometry.LINE_WIDE + 1];
+        float lineEndX = g[DialGeometry.LINE_END];
+        float lineEndY = g[DialGeometry.LINE_END + 1];
+        indicatorRingPath.rewind();
+        indicatorRingPath.moveTo(g[DialGeometry.LINE_TIP_LEFT], g[DialGeometry.LINE_TIP_LEFT + 1]);
+        indicatorRingPath.lineTo(g[DialGeometry.LINE_TIP_RIGHT], g[DialGeometry.LINE_TIP_RIGHT + 1]);
+        indicatorRingPath.lineTo(wideX, wideY);
+        indicatorRingPath.lineTo(lineEndX, lineEndY);
+        indicatorRingPath.lineTo(-lineEndX, lineEndY);
+        indicatorRingPath.lineTo(-wideX, wideY);
+        indicatorRingPath.lineTo(g[DialGeometry.LINE_TIP_LEFT], g[DialGeometry.LINE_TIP_LEFT + 1]);
+        indicatorRingPath.rotate(degrees);
+        canvas.drawPath(indicatorRingPath, indicatorLinePaint);
+    }
+
+    /**
+     * Sets {@code bounds} to the left, top, right and bottom of the area
+     * {@link #drawIndicatorNeedle} draws into at 0 degrees, relative to the origin and including
+     * the glow.
+     */
+    public void getIndicatorNeedleBounds(float[] bounds) {
+        float glow = indicatorRingBlurPaint.getBlurRadius() * 2
+                + indicatorRingBlurPaint.getStrokeWidth();
+        float[] g = geometry.values();
+        float halfWidth = g[DialGeometry.NEEDLE_RING_RADIUS] + glow;
+        bounds[0] = -halfWidth;
+        bounds[1] = Math.min(g[DialGeometry.LINE_TIP_LEFT + 1],
+                g[DialGeometry.NEEDLE_TIP_TOP] - glow);
+        bounds[2] = halfWidth;
+        bounds[3] = Math.max(g[DialGeometry.LINE_END + 1], g[DialGeometry.NEEDLE_END + 1] + glow);
+    }
+
+    void drawNumbers(DialCanvas canvas) {
+        float[] g = geometry.values();
+        // The vertical correction only depends on the paint.
+        float correctY = correct(canvas, null, H, textPaint);
+
+        for (int i=0;i<12;i++){
+            String number = NUMERALS[i];
+            int at = DialGeometry.NUMBERS + i * 2;
+
+            canvas.drawText(number, g[at] - correct(canvas, number, W, textPaint), g[at + 1] + correctY, textPaint);
+        }
+    }
+
+    /**
+     * Draws the twelve segment dashes: the first one on its own, in its own paint, and the
+     * other eleven as one path.
+     */
+    void drawSegmentDash(DialCanvas canvas) {
+        float[] g = geometry.values();
+        DialPath firstDashPath = canvas.newPath();
+        addSegmentDash(firstDashPath, g, 0);
+        canvas.drawPath(firstDashPath, firstSegmentPaint);
+
+        DialPath segmentDashPath = canvas.newPath();
+        for (int mark = 1; mark < 12; mark++) {
+            addSegmentDash(segmentDashPath, g, mark);
+        }
+        canvas.drawPath(segmentDashPath, segmentPaint);
+    }
+
+    private void addSegmentDash(DialPath path, float[] g, int mark) {
+        moveToMark(path, mark, g, DialGeometry.SEGMENT_START);
+        path.arcTo(-circleRatio, -circleRatio, circleRatio, circleRatio, 85 + mark * 30, 10);
+        lineToMark(path, mark, g, DialGeometry.SEGMENT_INNER_END);
+        lineToMark(path, mark, g, DialGeometry.SEGMENT_INNER_START);
+        path.close();
+    }
+
+    /**
+     * Draws the blue arcs behind the small dashes, then the twelve white borders between the
+     * segments as one path.
+     */
+    void drawWhiteBorder(DialCanvas canvas) {
+        float[] g = geometry.values();
+        float arcRadius = g[DialGeometry.BORDER_ARC_RADIUS];
+        drawBlueOuterCircle(canvas);
+
+        //the thic white border
+        DialPath inbetweenArcPath = canvas.newPath();
+        for (int mark = 0; mark < 12; mark++) {
+            float cos = TrigTables.MARK_COS[mark];
+            float sin = TrigTables.MARK_SIN[mark];
+            float bottom = g[DialGeometry.BORDER_BOTTOM];
+            float top = g[DialGeometry.BORDER_TOP];
+            float topEndX = g[DialGeometry.BORDER_TOP_END_X];
+            inbetweenArcPath.moveTo(-bottom * sin, bottom * cos);
+            inbetweenArcPath.lineTo(-top * sin, top * cos);
+            inbetweenArcPath.lineTo(topEndX * cos - top * sin, topEndX * sin + top * cos);
+            lineToMark(inbetweenArcPath, mark, g, DialGeometry.BORDER_ARC_START);
+            inbetweenArcPath.arcTo(-arcRadius, -arcRadius, arcRadius, arcRadius, 97 + mark * 30,
+                    17);
+            lineToMark(inbetweenArcPath, mark, g, DialGeometry.BORDER_TAIL);
+            lineToMark(inbetweenArcPath, mark, g, DialGeometry.BORDER_END);
+        }
+        canvas.drawPath(inbetweenArcPath, inbetweenArcPaint);
+    }
+
+    /**
+     * Draws all 48 small dashes with one call, straight from the endpoints in the geometry.
+     */
+    void drawSmallDashes(DialCanvas canvas) {
+        canvas.drawLines(geometry.values(), DialGeometry.SMALL_DASHES,
+                TrigTables.SMALL_DASH_COS.length * 4, smallDashPaint);
+    }
+
+    /**
+     * Draws the twelve blue arcs behind the small dashes as one path.
+     */
+    void drawBlueOuterCircle(DialCanvas canvas) {
+        float[] g = geometry.values();
+        float outerRadius = g[DialGeometry.DASH_OUTER_RADIUS];
+        float innerRadius = g[DialGeometry.DASH_INNER_RADIUS];
+
+        DialPath smallDashesArcPath = canvas.newPath();
+        for (int mark = 0; mark < 12; mark++) {
+            moveToMark(smallDashesArcPath, mark, g, DialGeometry.DASH_ARC_START);
+            lineToMark(smallDashesArcPath, mark, g, DialGeometry.DASH_ARC_OUTER);
+            smallDashesArcPath.arcTo(-outerRadius, -outerRadius, outerRadius, outerRadius,
+                    96.6f + mark * 30, 17);
+            lineToMark(smallDashesArcPath, mark, g, DialGeometry.DASH_ARC_END);
+            smallDashesArcPath.arcTo(-innerRadius, -innerRadius, innerRadius, innerRadius,
+                    115.4f + mark * 30, -21.65f);
+        }
+        canvas.drawPath(smallDashesArcPath, smallDashesPathPaint);
+    }
+
+    /**
+     * Starts a contour at the point at {@code g[index]} of the first mark, turned to the
+     * {@code mark}th of the twelve. Each mark is turned from the geometry directly, so no
+     * rounding builds up from one to the next.
+     */
+    private static void moveToMark(DialPath path, int mark, float[] g, int index) {
+        float cos = TrigTables.MARK_COS[mark];
+        float sin = TrigTables.MARK_SIN[mark];
+        path.moveTo(g[index] * cos - g[index + 1] * sin, g[index] * sin + g[index + 1] * cos);
+    }
+
+    /**
+     * Adds a line to the point at {@code g[index]}, turned like {@link #moveToMark}.
+     */
+    private static void lineToMark(DialPath path, int mark, float[] g, int index) {
+        float cos = TrigTables.MARK_COS[mark];
+        float sin = TrigTables.MARK_SIN[mark];
+        path.lineTo(g[index] * cos - g[index + 1] * sin, g[index] * sin + g[index + 1] * cos);
+    }
+
+    private float correct (DialCanvas canvas, String number,int type,DialPaint paint){
+        if (type== W){
+            return  (canvas.measureText(number, paint))/2;
+        }else {
+            return (Math.abs(canvas.ascent(paint))+Math.abs(canvas.descent(paint)))/4;
+        }
+    }
+
+    public static float getX(double dgre, double radius, int indexAngle){
+        return (float) (radius*(Math.cos(Math.toRadians(dgre + indexAngle))));
+    }
+
+    public static float getY(double dgre, double radius, int indexAngle) {
+        return  (float) (radius * (Math.sin(Math.toRadians(dgre + indexAngle))));
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The colors, gradients and stroke sizes of a dial. Themes are immutable; they are usually
+ * read once with {@link #parse} and handed to {@link DialRenderer#setTheme}.
+ *
+ * <p>The text format has one {@code [name]} section per theme, followed by {@code key value}
+ * lines:
+ *
+ * <pre>
+ * # Comments start with a hash and a space.
+ * [smart]
+ * segment      #3c758c
+ * inner_ring   #173347@0.2 #7fc5e4@0.4 #498baf@0.6
+ * border_width 80
+ * </pre>
+ *
+ * Colors are {@code #RRGGBB} or {@code #AARRGGBB}. Gradients are a list of colors, either all
+ * with an {@code @position} or all without, in which case they are spread evenly. Sizes are
+ * divisors of the dial's reference radius, so larger values are thinner. Keys a section
+ * leaves out keep their value from {@link #DEFAULT}.
+ */
+public final class DialTheme {
+
+    /**
+     * Colors, for {@link #getColor}.
+     */
+    public static final int BACKGROUND = 0;
+    public static final int DIAL = 1;
+    public static final int SEGMENT = 2;
+    public static final int FIRST_SEGMENT = 3;
+    public static final int BORDER = 4;
+    public static final int DASH_ARC = 5;
+    public static final int SMALL_DASH = 6;
+    public static final int NUMBERS = 7;
+    public static final int ACCENT = 8;
+    public static final int SILVER = 9;
+    public static final int SILVER_GLOW = 10;
+    public static final int HUB = 11;
+    public static final int NEEDLE = 12;
+    public static final int NEEDLE_LINE = 13;
+    private static final String[] COLOR_KEYS = {
+            "background", "dial", "segment", "first_segment", "border", "dash_arc",
+            "small_dash", "numbers", "accent", "silver", "silver_glow", "hub", "needle",
+            "needle_line"
+    };
+
+    /**
+     * Sweep gradients, for {@link #getGradientColors} and {@link #getGradientPositions}.
+     */
+    public static final int INNER_RING = 0;
+    public static final int INNER_FILL = 1;
+    private static final String[] GRADIENT_KEYS = {"inner_ring", "inner_fill"};
+
+    /**
+     * Sizes, for {@link #getSize}.
+     */
+    public static final int SEGMENT_WIDTH = 0;
+    public static final int BORDER_WIDTH = 1;
+    public static final int SMALL_DASH_WIDTH = 2;
+    public static final int NUMBER_SIZE = 3;
+    public static final int INNER_RING_WIDTH = 4;
+    public static final int ACCENT_WIDTH = 5;
+    public static final int ACCENT_TEXT_SIZE = 6;
+    public static final int SILVER_WIDTH = 7;
+    public static final int SILVER_GLOW_WIDTH = 8;
+    public static final int NEEDLE_WIDTH = 9;
+    public static final int NEEDLE_GLOW_WIDTH = 10;
+    private static final String[] SIZE_KEYS = {
+            "segment_width", "border_width", "small_dash_width", "number_size",
+            "inner_ring_width", "accent_width", "accent_text_size", "silver_width",
+            "silver_glow_width", "needle_width", "needle_glow_width"
+    };
+
+    /**
+     * The dial's original look.
+     */
+    public static final DialTheme DEFAULT;
+
+    static {
+        int[] colors = new int[COLOR_KEYS.length];
+        colors[BACKGROUND] = DialColor.rgb(6, 11, 30);
+        colors[DIAL] = DialColor.rgb(6, 11, 30);
+        colors[SEGMENT] = DialColor.rgb(60, 117, 140);
+        colors[FIRST_SEGMENT] = DialColor.WHITE;
+        colors[BORDER] = DialColor.WHITE;
+        colors[DASH_ARC] = DialColor.rgb(60, 117, 140);
+        colors[SMALL_DASH] = DialColor.WHITE;
+        colors[NUMBERS] = DialColor.WHITE;
+        colors[ACCENT] = DialColor.rgb(252, 220, 112);
+        colors[SILVER] = DialColor.WHITE;
+        colors[SILVER_GLOW] = DialColor.WHITE;
+        colors[HUB] = DialColor.rgb(34, 17, 71);
+        colors[NEEDLE] = DialColor.rgb(254, 254, 255);
+        colors[NEEDLE_LINE] = DialColor.RED;
+
+        int[][] gradientColors = new int[GRADIENT_KEYS.length][];
+        float[][] gradientPositions = new float[GRADIENT_KEYS.length][];
+        gradientColors[INNER_RING] = new int[]{
+                DialColor.rgb(23, 51, 71), DialColor.rgb(127, 197, 228),
+                DialColor.rgb(73, 139, 175)
+        };
+        gradientPositions[INNER_RING] = new float[]{0.2f, 0.4f, 0.6f};
+        gradientColors[INNER_FILL] = new int[]{
+                DialColor.rgb(73, 139, 175), DialColor.rgb(23, 51, 71)
+        };
+
+        float[] sizes = new float[SIZE_KEYS.length];
+        sizes[SEGMENT_WIDTH] = 92.3f;
+        sizes[BORDER_WIDTH] = 80;
+        sizes[SMALL_DASH_WIDTH] = 180;
+        sizes[NUMBER_SIZE] = 8;
+        sizes[INNER_RING_WIDTH] = 46.1538f;
+        sizes[ACCENT_WIDTH] = 92.3f;
+        sizes[ACCENT_TEXT_SIZE] = 13.846f;
+        sizes[SILVER_WIDTH] = 27.692f;
+        sizes[SILVER_GLOW_WIDTH] = 18.4615f;
+        sizes[NEEDLE_WIDTH] = 92.3f;
+        sizes[NEEDLE_GLOW_WIDTH] = 27.692f;
+
+        DEFAULT = new DialTheme("default", colors, gradientColors, gradientPositions, sizes);
+    }
+
+    private final String mName;
+    private final int[] mColors;
+    private final int[][] mGradientColors;
+    private final float[][] mGradientPositions;
+    private final float[] mSizes;
+
+    private DialTheme(String name, int[] colors, int[][] gradientColors,
+            float[][] gradientPositions, float[] sizes) {
+        mName = name;
+        mColors = colors;
+        mGradientColors = gradientColors;
+        mGradientPositions = gradientPositions;
+        mSizes = sizes;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Returns the color around the dial, which also fills the face until the dial is drawn.
+     */
+    public int getBackgroundColor() {
+        return mColors[BACKGROUND];
+    }
+
+    public int getColor(int color) {
+        return mColors[color];
+    }
+
+    /**
+     * Returns the colors of a sweep gradient. The array must not be modified.
+     */
+    public int[] getGradientColors(int gradient) {
+        return mGradientColors[gradient];
+    }
+
+    /**
+     * Returns the positions of a sweep gradient's colors, or null if they are evenly spread.
+     * The array must not be modified.
+     */
+    public float[] getGradientPositions(int gradient) {
+        return mGradientPositions[gradient];
+    }
+
+    /**
+     * Returns the divisor of the reference radius that gives the size.
+     */
+    public float getSize(int size) {
+        return mSizes[size];
+    }
+
+    @Override
+    public String toString() {
+        return mName;
+    }
+
+    /**
+     * Reads every theme in {@code in}, in order. Throws {@link IllegalArgumentException} with
+     * the line number if the text is malformed.
+     */
+    public static List<DialTheme> parse(Reader in) throws IOException {
+        List<DialTheme> themes = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(in);
+        String name = null;
+        int[] colors = null;
+        int[][] gradientColors = null;
+        float[][] gradientPositions = null;
+        float[] sizes = null;
+
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            // A hash followed by anything but a space is a color, not a comment.
+            while (comment >= 0 && comment + 1 < line.length()
+                    && !Character.isWhitespace(line.charAt(comment + 1))) {
+                comment = line.indexOf('#', comment + 1);
+            }
+            line = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            if (line.startsWith("[") && line.endsWith("]")) {
+                if (name != null) {
+                    themes.add(new DialTheme(name, colors, gradientColors, gradientPositions,
+                            sizes));
+                }
+                name = line.substring(1, line.length() - 1).trim();
+                colors = DEFAULT.mColors.clone();
+                gradientColors = DEFAULT.mGradientColors.clone();
+                gradientPositions = DEFAULT.mGradientPositions.clone();
+                sizes = DEFAULT.mSizes.clone();
+                continue;
+            }
+            if (name == null) {
+                throw syntaxError(lineNumber, "expected a [theme] before " + line);
+            }
+
+            String[] tokens = line.split("\\s+");
+            String key = tokens[0];
+            int index;
+            try {
+                if ((index = indexOf(COLOR_KEYS, key)) >= 0) {
+                    if (tokens.length != 2) {
+                        throw syntaxError(lineNumber, key + " takes one color");
+                    }
+                    colors[index] = parseColor(tokens[1]);
+                } else if ((index = indexOf(GRADIENT_KEYS, key)) >= 0) {
+                    parseGradient(tokens, lineNumber, gradientColors, gradientPositions, index);
+                } else if ((index = indexOf(SIZE_KEYS, key)) >= 0) {
+                    if (tokens.length != 2) {
+                        throw syntaxError(lineNumber, key + " takes one size");
+                    }
+                    float size = Float.parseFloat(tokens[1]);
+                    if (!(size > 0)) {
+                        throw syntaxError(lineNumber, key + " must be positive");
+                    }
+                    sizes[index] = size;
+                } else {
+                    throw syntaxError(lineNumber, "unknown key " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw syntaxError(lineNumber, e.getMessage());
+            }
+        }
+        if (name != null) {
+            themes.add(new DialTheme(name, colors, gradientColors, gradientPositions, sizes));
+        }
+        return themes;
+    }
+
+    private static void parseGradient(String[] tokens, int lineNumber, int[][] gradientColors,
+            float[][] gradientPositions, int index) {
+        int count = tokens.length - 1;
+        if (count < 2) {
+            throw syntaxError(lineNumber, tokens[0] + " needs at least two colors");
+        }
+        int[] colors = new int[count];
+        float[] positions = new float[count];
+        int positioned = 0;
+        for (int i = 0; i < count; i++) {
+            String token = tokens[i + 1];
+            int at = token.indexOf('@');
+            if (at >= 0) {
+                positions[i] = Float.parseFloat(token.substring(at + 1));
+                if (positions[i] < 0 || positions[i] > 1
+                        || (i > 0 && positions[i] < positions[i - 1])) {
+                    throw syntaxError(lineNumber, "positions must rise from 0 to 1");
+                }
+                token = token.substring(0, at);
+                positioned++;
+            }
+            colors[i] = parseColor(token);
+        }
+        if (positioned != 0 && positioned != count) {
+            throw syntaxError(lineNumber, "either every color of " + tokens[0]
+                    + " has a position or none has");
+        }
+        gradientColors[index] = colors;
+        gradientPositions[index] = positioned == 0 ? null : positions;
+    }
+
+    private static int parseColor(String token) {
+        if (token.startsWith("#")) {
+            if (token.length() == 7) {
+                return DialColor.BLACK | Integer.parseInt(token.substring(1), 16);
+            } else if (token.length() == 9) {
+                return (int) Long.parseLong(token.substring(1), 16);
+            }
+        }
+        throw new NumberFormatException("not a color: " + token);
+    }
+
+    private static int indexOf(String[] keys, String key) {
+        return Arrays.asList(keys).indexOf(key);
+    }
+
+    private static IllegalArgumentException syntaxError(int lineNumber, String message) {
+        return new IllegalArgumentException("line " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * Formats numbers into a reusable char buffer, so readouts that change every frame can be
+ * drawn without building a {@code String}. Decimals are given in fixed point: 123 with one
+ * decimal is written as "12.3".
+ */
+public final class DigitFormatter {
+
+    private final char[] mChars;
+    private int mLength;
+
+    public DigitFormatter(int capacity) {
+        mChars = new char[capacity];
+    }
+
+    /**
+     * Returns the formatted text, valid up to {@link #length()}. The array is reused by the
+     * next call that changes the text.
+     */
+    public char[] chars() {
+        return mChars;
+    }
+
+    public int length() {
+        return mLength;
+    }
+
+    public DigitFormatter clear() {
+        mLength = 0;
+        return this;
+    }
+
+    public DigitFormatter append(char c) {
+        mChars[mLength++] = c;
+        return this;
+    }
+
+    public DigitFormatter append(String text) {
+        text.getChars(0, text.length(), mChars, mLength);
+        mLength += text.length();
+        return this;
+    }
+
+    public DigitFormatter appendInt(int value) {
+        return appendFixed(value, 0, '.');
+    }
+
+    /**
+     * Appends {@code value / 10^decimals} with exactly {@code decimals} digits after
+     * {@code separator}.
+     */
+    public DigitFormatter appendFixed(int value, int decimals, char separator) {
+        // Negated so that Integer.MIN_VALUE does not overflow.
+        int negative = value < 0 ? value : -value;
+        if (value < 0) {
+            mChars[mLength++] = '-';
+        }
+        int digits = 1;
+        for (int rest = negative / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, decimals + 1);
+        int end = mLength + digits + (decimals > 0 ? 1 : 0);
+        if (end > mChars.length) {
+            throw new IndexOutOfBoundsException("Buffer of " + mChars.length + " too small");
+        }
+        int at = end;
+        for (int i = 0; i < digits; i++) {
+            if (i == decimals && decimals > 0) {
+                mChars[--at] = separator;
+            }
+            mChars[--at] = (char) ('0' - negative % 10);
+            negative /= 10;
+        }
+        mLength = end;
+        return this;
+    }
+
+    /**
+     * Rounds {@code value} to {@code decimals} digits and appends it, like
+     * {@link #appendFixed}. Values past the range of an int are clamped.
+     */
+    public DigitFormatter appendDecimal(double value, int decimals, char separator) {
+        double scaled = value;
+        for (int i = 0; i < decimals; i++) {
+            scaled *= 10;
+        }
+        long rounded = Math.round(scaled);
+        int clamped = (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, rounded));
+        return appendFixed(clamped, decimals, separator);
+    }
+
+    @Override
+    public String toString() {
+        return new String(mChars, 0, mLength);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * Where the tips of the three hands are for one time, placed with {@link TrigTables} lookups.
+ * The watch face keeps one instance and calls {@link #place} every frame, so nothing is
+ * allocated while drawing.
+ */
+public final class HandPositions {
+
+    /**
+     * How far each hand stops short of the edge of the dial.
+     */
+    static final float SECOND_INSET = 20;
+    static final float MINUTE_INSET = 40;
+    static final float HOUR_INSET = 80;
+
+    /**
+     * Table indices of the placed time, which change exactly when a hand moves.
+     */
+    public int sweepStep;
+    public int minuteStep;
+    public int hourStep;
+
+    public float secondX, secondY;
+    public float minuteX, minuteY;
+    public float hourX, hourY;
+
+    /**
+     * Places the hands of a dial centered on {@code centerX}, {@code centerY} for the given
+     * time. Pass 0 for {@code millis} to make the second hand tick instead of sweep.
+     */
+    public void place(float centerX, float centerY, int hour, int minute, int second,
+            int millis) {
+        sweepStep = TrigTables.sweepIndex(second, millis);
+        minuteStep = minute;
+        hourStep = TrigTables.hourIndex(hour, minute);
+
+        float secLength = centerX - SECOND_INSET;
+        float minLength = centerX - MINUTE_INSET;
+        float hrLength = centerX - HOUR_INSET;
+
+        secondX = centerX + TrigTables.SWEEP_SIN[sweepStep] * secLength;
+        secondY = centerY - TrigTables.SWEEP_COS[sweepStep] * secLength;
+        minuteX = centerX + TrigTables.TICK_SIN[minuteStep] * minLength;
+        minuteY = centerY - TrigTables.TICK_COS[minuteStep] * minLength;
+        hourX = centerX + TrigTables.HOUR_SIN[hourStep] * hrLength;
+        hourY = centerY - TrigTables.HOUR_COS[hourStep] * hrLength;
+    }
+}
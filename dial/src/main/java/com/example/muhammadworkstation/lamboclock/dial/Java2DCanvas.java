@@ -0,0 +1,303 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+
+/**
+ * {@link DialCanvas} that draws into a {@link BufferedImage}, for rendering the dial on a
+ * plain JVM.
+ *
+ * <p>Blurs are approximated with a three pass box blur of the shape's coverage. Emboss is not
+ * supported; embossed shapes are drawn flat.
+ */
+public class Java2DCanvas implements DialCanvas {
+
+    private static final Font BASE_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 1);
+
+    private final BufferedImage mImage;
+    private final Graphics2D mGraphics;
+    private final ArrayDeque<AffineTransform> mSavedTransforms = new ArrayDeque<>();
+
+    public Java2DCanvas(BufferedImage image) {
+        mImage = image;
+        mGraphics = image.createGraphics();
+        mGraphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+                RenderingHints.VALUE_STROKE_PURE);
+        mGraphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    public BufferedImage getImage() {
+        return mImage;
+    }
+
+    /**
+     * Draws {@code image} with its top left corner at the top left of the canvas, ignoring the
+     * current transform.
+     */
+    public void drawImage(BufferedImage image) {
+        AffineTransform transform = mGraphics.getTransform();
+        mGraphics.setTransform(new AffineTransform());
+        mGraphics.drawImage(image, 0, 0, null);
+        mGraphics.setTransform(transform);
+    }
+
+    /**
+     * Releases the underlying graphics context. The canvas cannot be drawn on afterwards.
+     */
+    public void dispose() {
+        mGraphics.dispose();
+    }
+
+    @Override
+    public DialPath newPath() {
+        return new Java2DPath();
+    }
+
+    @Override
+    public void drawColor(int color) {
+        AffineTransform transform = mGraphics.getTransform();
+        mGraphics.setTransform(new AffineTransform());
+        mGraphics.setColor(new Color(color, true));
+        mGraphics.fillRect(0, 0, mImage.getWidth(), mImage.getHeight());
+        mGraphics.setTransform(transform);
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, DialPaint paint) {
+        draw(new Ellipse2D.Float(cx - radius, cy - radius, radius * 2, radius * 2), paint,
+                false);
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle, DialPaint paint) {
+        draw(new Arc2D.Float(left, top, right - left, bottom - top, -startAngle, -sweepAngle,
+                Arc2D.OPEN), paint, false);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY,
+            DialPaint paint) {
+        draw(new Line2D.Float(startX, startY, stopX, stopY), paint, true);
+    }
+
+    @Override
+    public void drawLines(float[] points, int offset, int count, DialPaint paint) {
+        Path2D.Float lines = new Path2D.Float(Path2D.WIND_NON_ZERO, count / 2);
+        for (int i = offset; i + 3 < offset + count; i += 4) {
+            lines.moveTo(points[i], points[i + 1]);
+            lines.lineTo(points[i + 2], points[i + 3]);
+        }
+        draw(lines, paint, true);
+    }
+
+    @Override
+    public void drawPath(DialPath path, DialPaint paint) {
+        draw(((Java2DPath) path).mPath, paint, false);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, DialPaint paint) {
+        applyAntiAlias(paint);
+        mGraphics.setFont(font(paint));
+        mGraphics.setPaint(fillPaint(paint));
+        mGraphics.drawString(text, x, y);
+    }
+
+    @Override
+    public float measureText(String text, DialPaint paint) {
+        return (float) font(paint).getStringBounds(text, fontRenderContext()).getWidth();
+    }
+
+    @Override
+    public float ascent(DialPaint paint) {
+        return -lineMetrics(paint).getAscent();
+    }
+
+    @Override
+    public float descent(DialPaint paint) {
+        return lineMetrics(paint).getDescent();
+    }
+
+    @Override
+    public void save() {
+        mSavedTransforms.push(mGraphics.getTransform());
+    }
+
+    @Override
+    public void restore() {
+        mGraphics.setTransform(mSavedTransforms.pop());
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        mGraphics.translate(dx, dy);
+    }
+
+    private void draw(Shape shape, DialPaint paint, boolean alwaysStroke) {
+        Shape outline = shape;
+        if (alwaysStroke || paint.getStyle() == DialPaint.Style.STROKE) {
+            outline = stroke(paint).createStrokedShape(shape);
+        }
+        if (paint.getBlur() != null) {
+            drawBlurred(outline, paint);
+            return;
+        }
+        applyAntiAlias(paint);
+        mGraphics.setPaint(fillPaint(paint));
+        mGraphics.fill(outline);
+    }
+
+    /**
+     * Draws {@code outline} the way a {@code BlurMaskFilter} would: its coverage is rendered
+     * offscreen, blurred, and used as the alpha of the paint color.
+     */
+    private void drawBlurred(Shape outline, DialPaint paint) {
+        AffineTransform transform = mGraphics.getTransform();
+        float sigma = paint.getBlurRadius() * 0.57735f + 0.5f;
+        int pad = (int) Math.ceil(sigma * 3);
+        Rectangle bounds = transform.createTransformedShape(outline).getBounds();
+        bounds.grow(pad, pad);
+        if (bounds.isEmpty()) {
+            return;
+        }
+
+        BufferedImage mask = new BufferedImage(bounds.width, bounds.height,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D maskGraphics = mask.createGraphics();
+        maskGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        maskGraphics.translate(-bounds.x, -bounds.y);
+        maskGraphics.transform(transform);
+        maskGraphics.setColor(Color.WHITE);
+        maskGraphics.fill(outline);
+        maskGraphics.dispose();
+
+        int width = bounds.width;
+        int height = bounds.height;
+        int[] pixels = mask.getRGB(0, 0, width, height, null, 0, width);
+        int[] coverage = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            coverage[i] = pixels[i] >>> 24;
+        }
+        int[] blurred = coverage.clone();
+        // Three box passes of width w have a variance of (w * w - 1) / 4.
+        int boxWidth = Math.round((float) Math.sqrt(4 * sigma * sigma + 1));
+        int boxRadius = Math.max(1, (boxWidth - 1) / 2);
+        int[] scratch = new int[pixels.length];
+        for (int pass = 0; pass < 3; pass++) {
+            boxBlur(blurred, scratch, width, height, boxRadius, true);
+            boxBlur(scratch, blurred, width, height, boxRadius, false);
+        }
+
+        int color = paint.getColor();
+        int rgb = color & 0xffffff;
+        int colorAlpha = DialColor.alpha(color);
+        boolean solid = paint.getBlur() == DialPaint.Blur.SOLID;
+        for (int i = 0; i < pixels.length; i++) {
+            int alpha = solid ? Math.max(coverage[i], blurred[i]) : blurred[i];
+            pixels[i] = ((alpha * colorAlpha / 255) << 24) | rgb;
+        }
+        mask.setRGB(0, 0, width, height, pixels, 0, width);
+
+        mGraphics.setTransform(new AffineTransform());
+        mGraphics.drawImage(mask, bounds.x, bounds.y, null);
+        mGraphics.setTransform(transform);
+    }
+
+    private static void boxBlur(int[] in, int[] out, int width, int height, int radius,
+            boolean horizontal) {
+        int lines = horizontal ? height : width;
+        int length = horizontal ? width : height;
+        int step = horizontal ? 1 : width;
+        int window = radius * 2 + 1;
+        for (int line = 0; line < lines; line++) {
+            int start = horizontal ? line * width : line;
+            int sum = 0;
+            for (int k = -radius; k <= radius; k++) {
+                sum += sample(in, start, step, length, k);
+            }
+            for (int k = 0; k < length; k++) {
+                out[start + k * step] = sum / window;
+                sum += sample(in, start, step, length, k + radius + 1)
+                        - sample(in, start, step, length, k - radius);
+            }
+        }
+    }
+
+    private static int sample(int[] in, int start, int step, int length, int k) {
+        return k < 0 || k >= length ? 0 : in[start + k * step];
+    }
+
+    private void applyAntiAlias(DialPaint paint) {
+        mGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, paint.isAntiAlias()
+                ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        mGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, paint.isAntiAlias()
+                ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+                : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+    }
+
+    private static Paint fillPaint(DialPaint paint) {
+        if (paint.getSweepColors() != null) {
+            return new SweepGradientPaint(paint.getSweepColors(), paint.getSweepPositions());
+        }
+        return new Color(paint.getColor(), true);
+    }
+
+    private static BasicStroke stroke(DialPaint paint) {
+        int cap;
+        switch (paint.getStrokeCap()) {
+            case ROUND:
+                cap = BasicStroke.CAP_ROUND;
+                break;
+            case SQUARE:
+                cap = BasicStroke.CAP_SQUARE;
+                break;
+            default:
+                cap = BasicStroke.CAP_BUTT;
+                break;
+        }
+        int join;
+        switch (paint.getStrokeJoin()) {
+            case ROUND:
+                join = BasicStroke.JOIN_ROUND;
+                break;
+            case BEVEL:
+                join = BasicStroke.JOIN_BEVEL;
+                break;
+            default:
+                join = BasicStroke.JOIN_MITER;
+                break;
+        }
+        // Android's default miter limit is 4, Java2D's is 10.
+        return new BasicStroke(paint.getStrokeWidth(), cap, join, 4);
+    }
+
+    private static Font font(DialPaint paint) {
+        return BASE_FONT.deriveFont(paint.getTextSize());
+    }
+
+    private FontRenderContext fontRenderContext() {
+        return new FontRenderContext(null, true, true);
+    }
+
+    private LineMetrics lineMetrics(DialPaint paint) {
+        return font(paint).getLineMetrics("0123456789", fontRenderContext());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * {@link DialLayers} backed by ARGB {@link BufferedImage}s, for {@link Java2DCanvas} targets.
+ */
+public class Java2DLayers implements DialLayers {
+
+    @Override
+    public DialCanvas createLayer(int width, int height) {
+        return new Java2DCanvas(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    @Override
+    public void composite(DialCanvas target, DialCanvas layer) {
+        ((Java2DCanvas) target).drawImage(((Java2DCanvas) layer).getImage());
+    }
+
+    @Override
+    public void releaseLayer(DialCanvas layer) {
+        ((Java2DCanvas) layer).dispose();
+    }
+}
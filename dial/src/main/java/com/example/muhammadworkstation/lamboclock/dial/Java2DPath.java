@@ -0,0 +1,72 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Path2D;
+
+/**
+ * {@link DialPath} backed by a {@link Path2D}.
+ */
+class Java2DPath implements DialPath {
+
+    final Path2D.Float mPath = new Path2D.Float(Path2D.WIND_NON_ZERO);
+    private final Arc2D.Float mArc = new Arc2D.Float(Arc2D.OPEN);
+
+    @Override
+    public void rewind() {
+        mPath.reset();
+    }
+
+    @Override
+    public void moveTo(float x, float y) {
+        mPath.moveTo(x, y);
+    }
+
+    @Override
+    public void lineTo(float x, float y) {
+        if (mPath.getCurrentPoint() == null) {
+            mPath.moveTo(0, 0);
+        }
+        mPath.lineTo(x, y);
+    }
+
+    @Override
+    public void arcTo(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle) {
+        setArc(left, top, right, bottom, startAngle, sweepAngle);
+        mPath.append(mArc, true);
+    }
+
+    @Override
+    public void addArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle) {
+        setArc(left, top, right, bottom, startAngle, sweepAngle);
+        mPath.append(mArc, false);
+    }
+
+    @Override
+    public void addCircle(float cx, float cy, float radius, boolean ccw) {
+        setArc(cx - radius, cy - radius, cx + radius, cy + radius, 0, ccw ? -360 : 360);
+        mPath.append(mArc, false);
+        mPath.closePath();
+    }
+
+    @Override
+    public void close() {
+        mPath.closePath();
+    }
+
+    @Override
+    public void rotate(float degrees) {
+        mPath.transform(AffineTransform.getRotateInstance(Math.toRadians(degrees)));
+    }
+
+    /**
+     * Java2D measures arc angles the other way round, so both angles are negated.
+     */
+    private void setArc(float left, float top, float right, float bottom, float startAngle,
+            float sweepAngle) {
+        mArc.setArc(left, top, right - left, bottom - top, -startAngle, -sweepAngle,
+                Arc2D.OPEN);
+    }
+}
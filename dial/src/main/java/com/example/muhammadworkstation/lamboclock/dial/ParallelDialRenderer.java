@@ -0,0 +1,142 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders the full color dial with its layers drawn concurrently. Each
+ * {@link DialRenderer#drawLayer layer} after the background is drawn into its own transparent
+ * buffer on a bounded thread pool, and the buffers are composited over the target in drawing
+ * order as they complete. Source over blending is associative, so the result matches
+ * {@link DialRenderer#renderDial} up to rounding.
+ *
+ * <p>This trades memory for time: up to {@code LAYER_COUNT - 1} full size buffers exist at
+ * once while a dial is rendered.
+ */
+public class ParallelDialRenderer {
+
+    private final DialRenderer mRenderer;
+    private final DialLayers mLayers;
+    private final ExecutorService mExecutor;
+
+    /**
+     * Creates a renderer with one thread per available core, up to the number of layers.
+     */
+    public ParallelDialRenderer(DialRenderer renderer, DialLayers layers) {
+        this(renderer, layers, Math.min(Runtime.getRuntime().availableProcessors(),
+                DialRenderer.LAYER_COUNT - 1));
+    }
+
+    public ParallelDialRenderer(DialRenderer renderer, DialLayers layers, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        mRenderer = renderer;
+        mLayers = layers;
+        mExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable,
+                        "DialLayer-" + mCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Same as {@link DialRenderer#renderDial}, with the layers drawn in parallel. Blocks
+     * until the dial is complete.
+     */
+    public void renderDial(DialCanvas canvas, final int width, final int height,
+            int backgroundColor) {
+        // Sizing rebuilds the paints, so it has to happen before any worker reads them.
+        mRenderer.setSize(width);
+
+        List<Future<DialCanvas>> layers = new ArrayList<>();
+        for (int i = DialRenderer.LAYER_BACKGROUND + 1; i < DialRenderer.LAYER_COUNT; i++) {
+            final int layer = i;
+            layers.add(mExecutor.submit(new Callable<DialCanvas>() {
+                @Override
+                public DialCanvas call() {
+                    DialCanvas layerCanvas = mLayers.createLayer(width, height);
+                    layerCanvas.save();
+                    layerCanvas.translate(width / 2, height / 2);
+                    mRenderer.drawLayer(layerCanvas, layer);
+                    layerCanvas.restore();
+                    return layerCanvas;
+                }
+            }));
+        }
+
+        // The background is cheap, so it is drawn here while the workers run.
+        canvas.drawColor(backgroundColor);
+        canvas.save();
+        canvas.translate(width / 2, height / 2);
+        mRenderer.drawLayer(canvas, DialRenderer.LAYER_BACKGROUND);
+        canvas.restore();
+
+        int next = 0;
+        try {
+            for (; next < layers.size(); next++) {
+                DialCanvas layerCanvas = getUninterruptibly(layers.get(next));
+                mLayers.composite(canvas, layerCanvas);
+                mLayers.releaseLayer(layerCanvas);
+            }
+        } catch (ExecutionException e) {
+            // Let the remaining layers finish before the renderer is used again.
+            for (int i = next + 1; i < layers.size(); i++) {
+                try {
+                    mLayers.releaseLayer(getUninterruptibly(layers.get(i)));
+                } catch (ExecutionException ignored) {
+                    // Already reporting the first failure.
+                }
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Rendering a dial layer failed", cause);
+        }
+    }
+
+    /**
+     * Waits for {@code future} even if interrupted, as the workers are still using the
+     * renderer. The interrupt is restored afterwards.
+     */
+    private static <T> T getUninterruptibly(Future<T> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the worker threads. The renderer cannot be used afterwards.
+     */
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Command line tool that renders the dial to PNG files with the Java2D backend and reports
+ * how long each render took.
+ *
+ * <pre>
+ * RenderDial [--ambient] [--low-bit] [--parallel] [--theme FILE NAME] [--background RRGGBB]
+ *         [--needle DEGREES] OUTPUT_DIR SIZE...
+ * </pre>
+ */
+public class RenderDial {
+
+    public static void main(String[] args) throws IOException {
+        boolean ambient = false;
+        boolean lowBit = false;
+        boolean parallel = false;
+        Integer background = null;
+        File themeFile = null;
+        String themeName = null;
+        Float needle = null;
+        File outputDir = null;
+        List<Integer> sizes = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--ambient")) {
+                ambient = true;
+            } else if (arg.equals("--low-bit")) {
+                ambient = true;
+                lowBit = true;
+            } else if (arg.equals("--parallel")) {
+                parallel = true;
+            } else if (arg.equals("--background") && i + 1 < args.length) {
+                background = 0xff000000 | Integer.parseInt(args[++i], 16);
+            } else if (arg.equals("--theme") && i + 2 < args.length) {
+                themeFile = new File(args[++i]);
+                themeName = args[++i];
+            } else if (arg.equals("--needle") && i + 1 < args.length) {
+                needle = Float.parseFloat(args[++i]);
+            } else if (outputDir == null) {
+                outputDir = new File(arg);
+            } else {
+                sizes.add(Integer.parseInt(arg));
+            }
+        }
+        if (outputDir == null || sizes.isEmpty()) {
+            System.err.println("usage: RenderDial [--ambient] [--low-bit] [--parallel]"
+                    + " [--theme FILE NAME] [--background RRGGBB] [--needle DEGREES]"
+                    + " OUTPUT_DIR SIZE...");
+            System.exit(1);
+        }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create " + outputDir);
+        }
+
+        DialTheme theme = DialTheme.DEFAULT;
+        if (themeFile != null) {
+            theme = findTheme(themeFile, themeName);
+        }
+        if (background == null) {
+            background = theme.getBackgroundColor();
+        }
+
+        DialRenderer renderer = new DialRenderer();
+        renderer.setTheme(theme);
+        ParallelDialRenderer parallelRenderer = parallel
+                ? new ParallelDialRenderer(renderer, new Java2DLayers()) : null;
+        for (int size : sizes) {
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Java2DCanvas canvas = new Java2DCanvas(image);
+
+            long start = System.nanoTime();
+            if (ambient) {
+                canvas.drawColor(DialColor.BLACK);
+                renderer.renderAmbientDial(canvas, size, size, lowBit);
+            } else if (parallel) {
+                parallelRenderer.renderDial(canvas, size, size, background);
+            } else {
+                renderer.renderDial(canvas, size, size, background);
+            }
+            if (needle != null && !ambient) {
+                canvas.save();
+                canvas.translate(size / 2, size / 2);
+                renderer.drawIndicator(canvas, needle);
+                canvas.restore();
+            }
+            long elapsed = System.nanoTime() - start;
+            canvas.dispose();
+
+            File output = new File(outputDir, "dial_" + size + (lowBit ? "_lowbit"
+                    : ambient ? "_ambient" : "") + ".png");
+            ImageIO.write(image, "png", output);
+            System.out.printf("%s: %.2f ms%n", output, elapsed / 1e6);
+        }
+        if (parallelRenderer != null) {
+            parallelRenderer.shutdown();
+        }
+    }
+
+    private static DialTheme findTheme(File file, String name) throws IOException {
+        List<DialTheme> themes;
+        Reader in = new InputStreamReader(new FileInputStream(file), "UTF-8");
+        try {
+            themes = DialTheme.parse(in);
+        } finally {
+            in.close();
+        }
+        for (DialTheme theme : themes) {
+            if (theme.getName().equals(name)) {
+                return theme;
+            }
+        }
+        throw new IllegalArgumentException("No theme " + name + " in " + file);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import java.awt.Paint;
+import java.awt.PaintContext;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+
+/**
+ * Java2D equivalent of Android's {@code SweepGradient} centered on the user space origin:
+ * colors go clockwise from 3 o'clock, and angles outside the first and last position keep the
+ * first and last color.
+ */
+class SweepGradientPaint implements Paint {
+
+    private final int[] mColors;
+    private final float[] mPositions;
+
+    SweepGradientPaint(int[] colors, float[] positions) {
+        mColors = colors;
+        if (positions == null) {
+            positions = new float[colors.length];
+            for (int i = 0; i < colors.length; i++) {
+                positions[i] = i / (float) (colors.length - 1);
+            }
+        }
+        mPositions = positions;
+    }
+
+    @Override
+    public PaintContext createContext(ColorModel cm, Rectangle deviceBounds,
+            Rectangle2D userBounds, AffineTransform xform, RenderingHints hints) {
+        Point2D center = xform.transform(new Point2D.Float(0, 0), null);
+        return new Context((float) center.getX(), (float) center.getY());
+    }
+
+    @Override
+    public int getTransparency() {
+        for (int color : mColors) {
+            if (DialColor.alpha(color) != 255) {
+                return Transparency.TRANSLUCENT;
+            }
+        }
+        return Transparency.OPAQUE;
+    }
+
+    int colorAt(float fraction) {
+        int last = mPositions.length - 1;
+        if (fraction <= mPositions[0]) {
+            return mColors[0];
+        }
+        if (fraction >= mPositions[last]) {
+            return mColors[last];
+        }
+        int i = 1;
+        while (mPositions[i] < fraction) {
+            i++;
+        }
+        float t = (fraction - mPositions[i - 1]) / (mPositions[i] - mPositions[i - 1]);
+        int from = mColors[i - 1];
+        int to = mColors[i];
+        return DialColor.argb(
+                lerp(DialColor.alpha(from), DialColor.alpha(to), t),
+                lerp(DialColor.red(from), DialColor.red(to), t),
+                lerp(DialColor.green(from), DialColor.green(to), t),
+                lerp(DialColor.blue(from), DialColor.blue(to), t));
+    }
+
+    private static int lerp(int from, int to, float t) {
+        return Math.round(from + (to - from) * t);
+    }
+
+    private class Context implements PaintContext {
+        private final float mCenterX;
+        private final float mCenterY;
+
+        Context(float centerX, float centerY) {
+            mCenterX = centerX;
+            mCenterY = centerY;
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return ColorModel.getRGBdefault();
+        }
+
+        @Override
+        public Raster getRaster(int x, int y, int w, int h) {
+            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+            int[] pixels = new int[w * h];
+            for (int j = 0; j < h; j++) {
+                float dy = y + j + 0.5f - mCenterY;
+                for (int i = 0; i < w; i++) {
+                    float dx = x + i + 0.5f - mCenterX;
+                    double angle = Math.atan2(dy, dx);
+                    if (angle < 0) {
+                        angle += 2 * Math.PI;
+                    }
+                    pixels[j * w + i] = colorAt((float) (angle / (2 * Math.PI)));
+                }
+            }
+            raster.setDataElements(0, 0, w, h, pixels);
+            return raster;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+/**
+ * Precomputed sines and cosines for every hand position and for the fixed angles the dial is
+ * built from, so that placing a hand or a tick is a table lookup instead of a trig call.
+ *
+ * <p>Hand tables are indexed clockwise from 12 o'clock (use {@code sin} for x and
+ * {@code -cos} for y). Dial tables follow the convention of {@link DialRenderer#getX} and
+ * {@link DialRenderer#getY}, where 0 degrees points at 3 o'clock and angles grow clockwise.
+ */
+public final class TrigTables {
+
+    /**
+     * Positions of the second and minute hands, one per second or minute.
+     */
+    public static final int TICK_STEPS = 60;
+
+    /**
+     * Positions of the hour hand, one per minute of a 12 hour turn.
+     */
+    public static final int HOUR_STEPS = 12 * 60;
+
+    /**
+     * Positions of the sweeping second hand, sixty per second.
+     */
+    public static final int SWEEP_STEPS = 60 * 60;
+
+    public static final float[] TICK_SIN = new float[TICK_STEPS];
+    public static final float[] TICK_COS = new float[TICK_STEPS];
+    public static final float[] SWEEP_SIN = new float[SWEEP_STEPS];
+    public static final float[] SWEEP_COS = new float[SWEEP_STEPS];
+    public static final float[] HOUR_SIN = new float[HOUR_STEPS];
+    public static final float[] HOUR_COS = new float[HOUR_STEPS];
+
+    /**
+     * Angles of the twelve numerals drawn by {@link DialRenderer#drawNumbers}.
+     */
+    public static final float[] NUMBER_COS = new float[12];
+    public static final float[] NUMBER_SIN = new float[12];
+
+    /**
+     * Angles of the 48 small dashes drawn by {@link DialRenderer#drawSmallDashes}: four dashes 5.6 degrees
+     * apart, repeated every 30 degrees.
+     */
+    public static final float[] SMALL_DASH_COS = new float[48];
+    public static final float[] SMALL_DASH_SIN = new float[48];
+
+    /**
+     * Rotations of the twelve marks repeated every 30 degrees around the dial, such as the
+     * segment dashes and the white borders between them.
+     */
+    public static final float[] MARK_COS = new float[12];
+    public static final float[] MARK_SIN = new float[12];
+
+    /**
+     * Corners of the first segment dash drawn by {@link DialRenderer#drawSegmentDash}.
+     */
+    public static final int SEGMENT_START = 0;
+    public static final int SEGMENT_INNER_END = 1;
+    public static final int SEGMENT_INNER_START = 2;
+    public static final float[] SEGMENT_COS = new float[3];
+    public static final float[] SEGMENT_SIN = new float[3];
+
+    static {
+        for (int i = 0; i < TICK_STEPS; i++) {
+            double radians = i * 2 * Math.PI / TICK_STEPS;
+            TICK_SIN[i] = (float) Math.sin(radians);
+            TICK_COS[i] = (float) Math.cos(radians);
+        }
+        for (int i = 0; i < SWEEP_STEPS; i++) {
+            double radians = i * 2 * Math.PI / SWEEP_STEPS;
+            SWEEP_SIN[i] = (float) Math.sin(radians);
+            SWEEP_COS[i] = (float) Math.cos(radians);
+        }
+        for (int i = 0; i < HOUR_STEPS; i++) {
+            double radians = i * 2 * Math.PI / HOUR_STEPS;
+            HOUR_SIN[i] = (float) Math.sin(radians);
+            HOUR_COS[i] = (float) Math.cos(radians);
+        }
+        for (int i = 0; i < 12; i++) {
+            double radians = Math.toRadians(i * 30 - 60);
+            NUMBER_COS[i] = (float) Math.cos(radians);
+            NUMBER_SIN[i] = (float) Math.sin(radians);
+        }
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 4; j++) {
+                double radians = Math.toRadians(96.6 + i * 30 + j * 5.6);
+                SMALL_DASH_COS[i * 4 + j] = (float) Math.cos(radians);
+                SMALL_DASH_SIN[i * 4 + j] = (float) Math.sin(radians);
+            }
+        }
+        for (int i = 0; i < 12; i++) {
+            double radians = Math.toRadians(i * 30);
+            MARK_COS[i] = (float) Math.cos(radians);
+            MARK_SIN[i] = (float) Math.sin(radians);
+        }
+        double[] segmentAngles = {85, 93, 87};
+        for (int i = 0; i < segmentAngles.length; i++) {
+            double radians = Math.toRadians(segmentAngles[i]);
+            SEGMENT_COS[i] = (float) Math.cos(radians);
+            SEGMENT_SIN[i] = (float) Math.sin(radians);
+        }
+    }
+
+    /**
+     * Returns the index into {@link #HOUR_SIN}/{@link #HOUR_COS} for the given time.
+     */
+    public static int hourIndex(int hour, int minute) {
+        return (hour % 12) * 60 + minute;
+    }
+
+    /**
+     * Returns the index into {@link #SWEEP_SIN}/{@link #SWEEP_COS} for the given second and
+     * millisecond.
+     */
+    public static int sweepIndex(int second, int millis) {
+        return (second * 1000 + millis) * SWEEP_STEPS / (TICK_STEPS * 1000);
+    }
+
+    private TrigTables() {
+    }
+}
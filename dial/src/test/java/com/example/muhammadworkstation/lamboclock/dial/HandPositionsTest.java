@@ -0,0 +1,69 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HandPositionsTest {
+
+    private static final float CENTER_X = 160;
+    private static final float CENTER_Y = 170;
+
+    /**
+     * The tables are float, so tips land within a small fraction of a pixel of the trig ones.
+     */
+    private static final float TOLERANCE = 1e-3f;
+
+    @Test
+    public void handsMatchTrigForEveryMinute() {
+        HandPositions hands = new HandPositions();
+        for (int hour = 0; hour < 24; hour++) {
+            for (int minute = 0; minute < 60; minute++) {
+                int second = (hour * 60 + minute) % 60;
+                hands.place(CENTER_X, CENTER_Y, hour, minute, second, 0);
+                String at = hour + ":" + minute + ":" + second;
+                assertTip("second " + at, second / 60.0, CENTER_X - HandPositions.SECOND_INSET,
+                        hands.secondX, hands.secondY);
+                assertTip("minute " + at, minute / 60.0, CENTER_X - HandPositions.MINUTE_INSET,
+                        hands.minuteX, hands.minuteY);
+                assertTip("hour " + at, (hour % 12 + minute / 60.0) / 12,
+                        CENTER_X - HandPositions.HOUR_INSET, hands.hourX, hands.hourY);
+            }
+        }
+    }
+
+    @Test
+    public void sweepingSecondHandMovesWithinTheSecond() {
+        HandPositions hands = new HandPositions();
+        hands.place(CENTER_X, CENTER_Y, 10, 10, 15, 500);
+        assertTip("second", 15.5 / 60, CENTER_X - HandPositions.SECOND_INSET, hands.secondX,
+                hands.secondY);
+        assertEquals(TrigTables.sweepIndex(15, 500), hands.sweepStep);
+    }
+
+    @Test
+    public void stepsChangeOnlyWhenAHandMoves() {
+        HandPositions hands = new HandPositions();
+        hands.place(CENTER_X, CENTER_Y, 13, 5, 30, 0);
+        int sweepStep = hands.sweepStep;
+        int hourStep = hands.hourStep;
+        // Same minute and a tick later, or the same time twelve hours apart.
+        hands.place(CENTER_X, CENTER_Y, 1, 5, 30, 0);
+        assertEquals(sweepStep, hands.sweepStep);
+        assertEquals(hourStep, hands.hourStep);
+        hands.place(CENTER_X, CENTER_Y, 13, 5, 31, 0);
+        assertEquals(hourStep, hands.hourStep);
+        assertEquals(5, hands.minuteStep);
+        hands.place(CENTER_X, CENTER_Y, 13, 6, 31, 0);
+        assertEquals(hourStep + 1, hands.hourStep);
+    }
+
+    /**
+     * Checks a tip {@code turns} of a full turn clockwise from 12 o'clock.
+     */
+    private static void assertTip(String name, double turns, float length, float x, float y) {
+        double radians = turns * 2 * Math.PI;
+        assertEquals(name + " x", CENTER_X + Math.sin(radians) * length, x, TOLERANCE);
+        assertEquals(name + " y", CENTER_Y - Math.cos(radians) * length, y, TOLERANCE);
+    }
+}
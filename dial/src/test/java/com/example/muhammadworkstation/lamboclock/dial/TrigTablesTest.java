@@ -0,0 +1,92 @@
+package com.example.muhammadworkstation.lamboclock.dial;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrigTablesTest {
+
+    /**
+     * The tables are computed in double and the trig they replace ran on float angles, so the
+     * two differ in the last float bits.
+     */
+    private static final float TOLERANCE = 1e-5f;
+
+    @Test
+    public void tickTablesMatchHandTrig() {
+        for (int i = 0; i < TrigTables.TICK_STEPS; i++) {
+            float rot = i / 30f * (float) Math.PI;
+            assertEquals("sin " + i, (float) Math.sin(rot), TrigTables.TICK_SIN[i], TOLERANCE);
+            assertEquals("cos " + i, (float) Math.cos(rot), TrigTables.TICK_COS[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    public void hourTablesMatchHandTrig() {
+        for (int hour = 0; hour < 24; hour++) {
+            for (int minute = 0; minute < 60; minute++) {
+                float rot = ((hour + (minute / 60f)) / 6f) * (float) Math.PI;
+                int i = TrigTables.hourIndex(hour, minute);
+                String at = hour + ":" + minute;
+                assertEquals("sin " + at, (float) Math.sin(rot), TrigTables.HOUR_SIN[i],
+                        TOLERANCE);
+                assertEquals("cos " + at, (float) Math.cos(rot), TrigTables.HOUR_COS[i],
+                        TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void sweepTablesMatchHandTrig() {
+        for (int second = 0; second < 60; second++) {
+            for (int millis = 0; millis < 1000; millis++) {
+                int i = TrigTables.sweepIndex(second, millis);
+                // The table holds the angle at the start of the step the time falls in.
+                float rot = i / (float) TrigTables.SWEEP_STEPS * 2 * (float) Math.PI;
+                String at = second + "." + millis;
+                assertEquals("sin " + at, (float) Math.sin(rot), TrigTables.SWEEP_SIN[i],
+                        TOLERANCE);
+                assertEquals("cos " + at, (float) Math.cos(rot), TrigTables.SWEEP_COS[i],
+                        TOLERANCE);
+            }
+            // Whole seconds land exactly on the ticking hand's positions.
+            int i = TrigTables.sweepIndex(second, 0);
+            assertEquals(TrigTables.TICK_SIN[second], TrigTables.SWEEP_SIN[i], TOLERANCE);
+            assertEquals(TrigTables.TICK_COS[second], TrigTables.SWEEP_COS[i], TOLERANCE);
+        }
+    }
+
+    @Test
+    public void sweepIndexStaysWithinTable() {
+        assertEquals(0, TrigTables.sweepIndex(0, 0));
+        assertEquals(TrigTables.SWEEP_STEPS - 1, TrigTables.sweepIndex(59, 999));
+    }
+
+    @Test
+    public void dialTablesMatchDialTrig() {
+        for (int i = 0; i < 12; i++) {
+            assertAngle("number " + i, i * 30 - 60, TrigTables.NUMBER_COS[i],
+                    TrigTables.NUMBER_SIN[i]);
+            assertAngle("mark " + i, i * 30, TrigTables.MARK_COS[i], TrigTables.MARK_SIN[i]);
+            for (int j = 0; j < 4; j++) {
+                assertAngle("small dash " + i + "/" + j, 96.6 + i * 30 + j * 5.6,
+                        TrigTables.SMALL_DASH_COS[i * 4 + j],
+                        TrigTables.SMALL_DASH_SIN[i * 4 + j]);
+            }
+        }
+        assertAngle("segment start", 85, TrigTables.SEGMENT_COS[TrigTables.SEGMENT_START],
+                TrigTables.SEGMENT_SIN[TrigTables.SEGMENT_START]);
+        assertAngle("segment inner end", 93,
+                TrigTables.SEGMENT_COS[TrigTables.SEGMENT_INNER_END],
+                TrigTables.SEGMENT_SIN[TrigTables.SEGMENT_INNER_END]);
+        assertAngle("segment inner start", 87,
+                TrigTables.SEGMENT_COS[TrigTables.SEGMENT_INNER_START],
+                TrigTables.SEGMENT_SIN[TrigTables.SEGMENT_INNER_START]);
+    }
+
+    private static void assertAngle(String name, double degrees, float cos, float sin) {
+        double radians = Math.toRadians(degrees);
+        assertEquals(name + " cos", (float) Math.cos(radians), cos, TOLERANCE);
+        assertEquals(name + " sin", (float) Math.sin(radians), sin, TOLERANCE);
+    }
+}